@@ -0,0 +1,93 @@
+package com.example.demo.config.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Micro-benchmark of platform versus virtual threads for the userExecutor workload alone, without
+ * HTTP, Tomcat or a real database; the end-to-end comparison is done by the load tests
+ * (PlatformThreadsUserLoadTest and VirtualThreadsUserLoadTest).
+ *
+ * Each operation submits {@code concurrency} tasks at once and waits for all of them. A task
+ * simulates a registration: a blocking database round trip followed by a low-cost BCrypt hash.
+ * The platform pool uses the sizes from ExecutorConfig with a queue large enough to avoid
+ * rejections; the virtual executor gives each task its own thread.
+ *
+ * The "virtual" mode needs JDK 21 or later:
+ * ./gradlew jmh -PjavaVersion=21 -PjmhIncludes=UserExecutorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UserExecutorBenchmark {
+
+    private static final long DATABASE_LATENCY_MILLIS = 5;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    private Executor executor;
+    private ThreadPoolTaskExecutor platformExecutor;
+    private BCryptPasswordEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(4);
+        if ("virtual".equals(threads)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("UserVirtual-");
+            virtual.setVirtualThreads(true);
+            executor = virtual;
+        } else {
+            platformExecutor = new ThreadPoolTaskExecutor();
+            platformExecutor.setCorePoolSize(5);
+            platformExecutor.setMaxPoolSize(10);
+            platformExecutor.setQueueCapacity(concurrency);
+            platformExecutor.setThreadNamePrefix("UserPool-");
+            platformExecutor.initialize();
+            executor = platformExecutor;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void registrationBurst() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            futures[i] = CompletableFuture.runAsync(this::simulatedRegistration, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void simulatedRegistration() {
+        try {
+            Thread.sleep(DATABASE_LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        encoder.encode("asdasdasd");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.config.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares insert throughput into a UUID-keyed table on file-backed H2 for random UUIDv4 and
+ * time-ordered UUIDv7 primary keys.
+ *
+ * The table mirrors "users" and is preloaded with {@code preloadRows} rows before measuring, so
+ * inserts land in a primary-key index that no longer fits in the page cache. Each operation
+ * inserts and commits one JDBC batch of {@value #BATCH_SIZE} rows. At the end of the trial the
+ * disk space used by the table and its index is printed.
+ *
+ * Preloading millions of rows takes a while:
+ * ./gradlew jmh -PjmhIncludes=UuidPrimaryKeyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UuidPrimaryKeyBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_SQL = "INSERT INTO users (id, email, created) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    @Param({"4", "7"})
+    public String uuidVersion;
+
+    @Param({"1000000", "5000000"})
+    public int preloadRows;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("uuid-pk-bench");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("bench") + ";CACHE_SIZE=65536", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id UUID PRIMARY KEY, email VARCHAR(255) NOT NULL, created TIMESTAMP NOT NULL)");
+        }
+        connection.commit();
+
+        ids = ConfigurableUuidGenerator.forVersion(uuidVersion);
+        insert = connection.prepareStatement(INSERT_SQL);
+        for (int loaded = 0; loaded < preloadRows; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.setString(2, "user" + (sequence++) + "@example.com");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT DISK_SPACE_USED('USERS')")) {
+            size.next();
+            System.out.printf("%nUUIDv%s after %d rows: table and index use %d KiB%n",
+                    uuidVersion, sequence, size.getLong(1) / 1024);
+        }
+        insert.close();
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.config.security;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import jakarta.servlet.FilterChain;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.demo.user.entity.User;
+
+/**
+ * Measures a full pass through JwtAuthenticationFilter.doFilterInternal for an authenticated
+ * request, with and without the verified-token cache and in both authentication modes.
+ * The UserDetailsService is an in-memory stub so the database is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+        StatelessAuthProperties statelessAuthProperties = new StatelessAuthProperties(stateless);
+        TokenVersionRegistry tokenVersionRegistry = TokenVersionRegistry.inMemory();
+        TokenRegistry tokenRegistry = new TokenRegistry(
+                new TokenRegistryProperties(null, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+        JwtService jwtService = new JwtService(
+                new SecurityConfigProperties(JwtServiceBenchmark.SECRET, 86_400_000L),
+                statelessAuthProperties,
+                tokenVersionRegistry,
+                tokenRegistry,
+                new SimpleMeterRegistry()
+        );
+
+        UserDetails principal = org.springframework.security.core.userdetails.User
+                .withUsername("bench@example.com")
+                .password("hashedPassword")
+                .build();
+        UserDetailsService userDetailsService = username -> principal;
+
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                new VerifiedTokenCache(new TokenCacheProperties(tokenCache, 10_000), new SimpleMeterRegistry()),
+                userDetailsService,
+                statelessAuthProperties,
+                tokenVersionRegistry,
+                tokenRegistry,
+                new SimpleMeterRegistry()
+        );
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("bench@example.com")
+                .build();
+        request = new MockHttpServletRequest("GET", "/api/users/" + user.getId());
+        request.setServletPath("/api/users/" + user.getId());
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(user));
+        response = new MockHttpServletResponse();
+        filterChain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, filterChain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.config.security;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.example.demo.user.entity.User;
+
+/**
+ * Measures token signing and verification in JwtService.
+ *
+ * extractUsernameRebuildingParser decodes the key and builds a parser on every call, as
+ * JwtService did before the signing state was cached; compare its gc.alloc.rate.norm with
+ * extractUsername.
+ */
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "KsdLbzbJCtR3e9Dc5ocJVcIuNl6neKcvCzXuF6bzHeg=";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(
+                new SecurityConfigProperties(SECRET, 86_400_000L),
+                new StatelessAuthProperties(false),
+                TokenVersionRegistry.inMemory(),
+                new TokenRegistry(new TokenRegistryProperties(null, Duration.ofSeconds(1)), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry()
+        );
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("bench@example.com")
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public Claims extractUsernameRebuildingParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.user.service;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.user.entity.Phone;
+
+/**
+ * Measures the conversion of phone DTOs into entities done on every registration and update.
+ */
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int phones;
+
+    private List<PhoneDto> request;
+
+    @Setup
+    public void setUp() {
+        request = IntStream.range(0, phones)
+                .mapToObj(i -> new PhoneDto("12345" + i, "1", "57"))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Phone> getPhonesFromRequest() {
+        return UserService.getPhonesFromRequest(request);
+    }
+}
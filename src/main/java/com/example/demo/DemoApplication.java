@@ -3,15 +3,47 @@ package com.example.demo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import lombok.extern.slf4j.Slf4j;
 
+import com.example.demo.config.async.UserExecutorProperties;
+import com.example.demo.config.async.VirtualThreadProperties;
+import com.example.demo.config.persistence.SecondLevelCacheProperties;
+import com.example.demo.config.security.JwtSecretReloadProperties;
+import com.example.demo.config.security.PasswordEncodingProperties;
 import com.example.demo.config.security.SecurityConfigProperties;
+import com.example.demo.config.security.StatelessAuthProperties;
+import com.example.demo.config.security.TokenCacheProperties;
+import com.example.demo.config.security.TokenRegistryProperties;
+import com.example.demo.config.security.TokenVersionProperties;
+import com.example.demo.config.security.UserDetailsCacheProperties;
+import com.example.demo.user.repository.EmailFilterProperties;
+import com.example.demo.user.repository.LastLoginProperties;
+import com.example.demo.user.service.UserExportProperties;
+import com.example.demo.user.service.UserImportProperties;
+import com.example.demo.user.service.UserListingProperties;
 
 @Slf4j
 @SpringBootApplication
+@EnableScheduling
 @EnableConfigurationProperties({
-    SecurityConfigProperties.class
+    EmailFilterProperties.class,
+    JwtSecretReloadProperties.class,
+    LastLoginProperties.class,
+    PasswordEncodingProperties.class,
+    SecondLevelCacheProperties.class,
+    SecurityConfigProperties.class,
+    StatelessAuthProperties.class,
+    TokenCacheProperties.class,
+    TokenRegistryProperties.class,
+    TokenVersionProperties.class,
+    UserDetailsCacheProperties.class,
+    UserExecutorProperties.class,
+    UserExportProperties.class,
+    UserImportProperties.class,
+    UserListingProperties.class,
+    VirtualThreadProperties.class
 })
 public class DemoApplication {
 
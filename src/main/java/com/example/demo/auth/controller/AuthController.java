@@ -3,6 +3,7 @@ package com.example.demo.auth.controller;
 import com.example.demo.auth.dto.request.LoginRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -10,17 +11,35 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 
 import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.auth.dto.response.BatchRegisterUserResponse;
 import com.example.demo.auth.dto.response.RegisterUserResponse;
+import com.example.demo.user.service.BatchRegistrationService;
 import com.example.demo.user.service.UserService;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for handling authentication-related requests.
- * Provides endpoints for user registration.
+ * Provides endpoints for user registration, batch registration and login.
+ *
+ * All endpoints return a CompletableFuture completed on the user executor,
+ * so the servlet thread is released while passwords are hashed and the database is accessed.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -28,12 +47,14 @@ import java.util.concurrent.CompletableFuture;
 public class AuthController {
 
     private final UserService userService;
+    private final BatchRegistrationService batchRegistrationService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Registers a new user based on the provided request data.
      *
      * @param request The request object containing user registration details.
-     * @return A ResponseEntity containing the created user's details and HTTP status 201 (Created).
+     * @return A future of a ResponseEntity containing the created user's details and HTTP status 201 (Created).
      */
     @PostMapping(value = "/register", consumes = "application/json", produces = "application/json")
     public CompletableFuture<ResponseEntity<RegisterUserResponse>> create(@Valid @RequestBody CreateUserRequest request) {
@@ -41,6 +62,42 @@ public class AuthController {
                 .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
+    /**
+     * Registers a batch of users submitted as a JSON array. Requires authentication.
+     *
+     * Each item is validated and registered independently; invalid or duplicate items, and items
+     * that do not bind to a CreateUserRequest, are reported in the per-item results without
+     * failing the rest of the batch. Only a body that is not syntactically a JSON array is
+     * rejected as a whole. The array is read one item at a time and rejected as soon as it exceeds
+     * the maximum batch size, so an oversized body is never loaded into memory as a whole.
+     *
+     * @param body the JSON request body
+     * @return a future of a ResponseEntity containing one result per item, with HTTP status 200 (OK)
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/register/batch", consumes = "application/json", produces = "application/json")
+    public CompletableFuture<ResponseEntity<List<BatchRegisterUserResponse>>> createBatch(InputStream body) throws IOException {
+        return batchRegistrationService.create(readJsonArray(body))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Registers a batch of users submitted as newline-delimited JSON, one CreateUserRequest per line.
+     * Requires authentication.
+     *
+     * Blank lines are ignored. A line that is not a valid CreateUserRequest is reported as a
+     * malformed item instead of failing the batch.
+     *
+     * @param body the NDJSON request body
+     * @return a future of a ResponseEntity containing one result per line, with HTTP status 200 (OK)
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/register/batch", consumes = "application/x-ndjson", produces = "application/json")
+    public CompletableFuture<ResponseEntity<List<BatchRegisterUserResponse>>> createBatchNdjson(InputStream body) throws IOException {
+        return batchRegistrationService.create(readNdjson(body))
+                .thenApply(ResponseEntity::ok);
+    }
+
     /**
      * Handles user login requests.
      *
@@ -49,11 +106,60 @@ public class AuthController {
      * and returns a response containing user registration details.
      *
      * @param request the login request containing user credentials
-     * @return a ResponseEntity containing the RegisterUserResponse with HTTP status CREATED
+     * @return a future of a ResponseEntity containing the RegisterUserResponse with HTTP status CREATED
      */
     @PostMapping(value = "/login", consumes = "application/json", produces = "application/json")
-    public ResponseEntity<RegisterUserResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(userService.login(request));
+    public CompletableFuture<ResponseEntity<RegisterUserResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return userService.login(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
-}
\ No newline at end of file
+    private List<CreateUserRequest> readJsonArray(InputStream body) throws IOException {
+        List<CreateUserRequest> requests = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body must be a JSON array");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (requests.size() == BatchRegistrationService.MAX_BATCH_SIZE) {
+                    throw tooLarge();
+                }
+                JsonNode item = parser.readValueAsTree();
+                try {
+                    requests.add(objectMapper.treeToValue(item, CreateUserRequest.class));
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    requests.add(null);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed JSON array");
+        }
+        return requests;
+    }
+
+    private List<CreateUserRequest> readNdjson(InputStream body) throws IOException {
+        List<CreateUserRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (requests.size() == BatchRegistrationService.MAX_BATCH_SIZE) {
+                    throw tooLarge();
+                }
+                try {
+                    requests.add(objectMapper.readValue(line, CreateUserRequest.class));
+                } catch (JsonProcessingException e) {
+                    requests.add(null);
+                }
+            }
+        }
+        return requests;
+    }
+
+    private static ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Batch must not exceed " + BatchRegistrationService.MAX_BATCH_SIZE + " users");
+    }
+}
@@ -13,12 +13,16 @@ import java.util.List;
  * - password: Encrypted password (optional to expose; usually not included in responses)
  * - phones: List of phones associated with the user
  * - modified: Timestamp of the last modification
- * - isActive: Boolean flag indicating if the user is active
+ * - isActive: Boolean flag indicating if the user is active; null leaves a PATCH unchanged
+ *   and deactivates the user on PUT
+ *
+ * A PATCH only applies the fields that are present: null (or blank) values leave the stored
+ * value unchanged, and phones are diffed against the stored ones.
  */
 public record UpdateUserRequest(
         String name,
         String email,
         String password,
         List<PhoneDto> phones,
-        boolean isActive
+        Boolean isActive
 ) {}
@@ -0,0 +1,34 @@
+package com.example.demo.auth.dto.response;
+
+/**
+ * BatchRegisterUserResponse represents the outcome of one item of a batch registration.
+ *
+ * Items are reported in the order they were received. A failed item does not fail the batch.
+ *
+ * Fields:
+ * - index: the zero-based position of the item in the submitted batch
+ * - status: the HTTP status the item would have had as a single registration (201 or 400)
+ * - user: the created user, or null if the item was rejected
+ * - message: the reason the item was rejected, or null if it was created
+ *
+ * Example:
+ * [
+ *   { "index": 0, "status": 201, "user": { "id": "...", "email": "jane.doe@example.com", ... }, "message": null },
+ *   { "index": 1, "status": 400, "user": null, "message": "Email already registered" }
+ * ]
+ */
+public record BatchRegisterUserResponse(
+        int index,
+        int status,
+        RegisterUserResponse user,
+        String message
+) {
+
+    public static BatchRegisterUserResponse created(int index, RegisterUserResponse user) {
+        return new BatchRegisterUserResponse(index, 201, user, null);
+    }
+
+    public static BatchRegisterUserResponse rejected(int index, String message) {
+        return new BatchRegisterUserResponse(index, 400, null, message);
+    }
+}
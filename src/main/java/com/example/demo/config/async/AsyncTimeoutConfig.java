@@ -0,0 +1,42 @@
+package com.example.demo.config.async;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * AsyncTimeoutConfig lets a handler override the asynchronous request timeout for its own request.
+ *
+ * Long-running streaming responses (such as the user export) would otherwise be cut off by the
+ * container's default async timeout, which is meant for ordinary requests. A handler stores the
+ * Duration it needs under {@link #TIMEOUT_ATTRIBUTE}; the interceptor applies it just before
+ * asynchronous processing starts. Requests without the attribute keep the default timeout.
+ */
+@Configuration
+public class AsyncTimeoutConfig implements WebMvcConfigurer {
+
+    /**
+     * Request attribute holding the Duration to use as the async timeout of the current request.
+     */
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutConfig.class.getName() + ".timeout";
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (timeout instanceof Duration duration && request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(duration.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -1,24 +1,127 @@
 package com.example.demo.config.async;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * ExecutorConfig defines the executor that runs blocking user operations
+ * (password hashing and database access).
+ *
+ * By default a bounded platform thread pool is used, sized and configured from
+ * UserExecutorProperties. When virtual threads are enabled (spring.threads.virtual.enabled=true
+ * on JDK 21 or later, see the "virtual" profile), each task runs on its own virtual thread
+ * instead, with a concurrency limit as back-pressure.
+ *
+ * Besides the pool gauges Spring Boot binds for ThreadPoolTaskExecutor beans
+ * (executor.active, executor.queued, executor.pool.size with name=userExecutor), this
+ * configuration publishes "executor.user.rejected" and the "executor.user.wait" timer, which
+ * measures how long tasks wait before a thread picks them up.
+ */
 @Configuration
-@EnableAsync
 public class ExecutorConfig {
 
     @Bean(name = "userExecutor")
-    public Executor userExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor userExecutor(UserExecutorProperties properties, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
+                if (queueCapacity <= 0) {
+                    return new SynchronousQueue<>();
+                }
+                return switch (properties.queueType()) {
+                    case LINKED -> new LinkedBlockingQueue<>(queueCapacity);
+                    case ARRAY -> new ArrayBlockingQueue<>(queueCapacity);
+                    case SYNCHRONOUS -> new SynchronousQueue<>();
+                };
+            }
+        };
+        executor.setCorePoolSize(properties.corePoolSize());
+        executor.setMaxPoolSize(properties.maxPoolSize());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setKeepAliveSeconds((int) properties.keepAlive().toSeconds());
         executor.setThreadNamePrefix("UserPool-");
+        executor.setTaskDecorator(waitTimeRecorder(meterRegistry));
+        executor.setRejectedExecutionHandler(rejectionHandler(properties, meterRegistry));
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "userExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualUserExecutor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("UserVirtual-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.concurrencyLimit());
+        executor.setTaskDecorator(waitTimeRecorder(meterRegistry));
+        return executor;
+    }
+
+    /**
+     * Records the time between submission and the start of execution of every task.
+     */
+    private static TaskDecorator waitTimeRecorder(MeterRegistry meterRegistry) {
+        Timer waitTimer = Timer.builder("executor.user.wait")
+                .description("Time user tasks wait before a thread picks them up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        };
+    }
+
+    /**
+     * Builds the configured saturation policy, counting every task that could not be queued.
+     */
+    private static RejectedExecutionHandler rejectionHandler(UserExecutorProperties properties, MeterRegistry meterRegistry) {
+        Counter rejected = Counter.builder("executor.user.rejected")
+                .description("Tasks the user executor could not accept")
+                .register(meterRegistry);
+
+        return switch (properties.rejectionPolicy()) {
+            case CALLER_RUNS -> (task, pool) -> {
+                rejected.increment();
+                new ThreadPoolExecutor.CallerRunsPolicy().rejectedExecution(task, pool);
+            };
+            case REJECT -> (task, pool) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("User executor saturated");
+            };
+            case WAIT -> (task, pool) -> {
+                try {
+                    if (!pool.isShutdown()
+                            && pool.getQueue().offer(task, properties.waitTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                rejected.increment();
+                throw new RejectedExecutionException("User executor saturated");
+            };
+        };
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.demo.config.async;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * UserExecutorProperties holds the sizing and saturation policy of the platform userExecutor.
+ *
+ * These properties are loaded using the prefix "spring.application.executor.user".
+ *
+ * Example configuration:
+ * spring.application.executor.user.core-pool-size=5
+ * spring.application.executor.user.max-pool-size=10
+ * spring.application.executor.user.queue-type=linked
+ * spring.application.executor.user.queue-capacity=25
+ * spring.application.executor.user.keep-alive=60s
+ * spring.application.executor.user.rejection-policy=reject
+ * spring.application.executor.user.retry-after=1s
+ *
+ * @param corePoolSize the number of threads kept alive when idle
+ * @param maxPoolSize the maximum number of threads, used once the queue is full
+ * @param queueType the kind of work queue: linked, array or synchronous (direct hand-off)
+ * @param queueCapacity the capacity of linked and array queues
+ * @param keepAlive how long threads above the core size stay alive when idle
+ * @param rejectionPolicy what happens when both the pool and the queue are full
+ * @param waitTimeout how long a caller waits for queue space under the "wait" policy
+ * @param retryAfter the Retry-After value returned with 503 responses for rejected requests
+ */
+@ConfigurationProperties(prefix = "spring.application.executor.user")
+public record UserExecutorProperties(
+        @DefaultValue("5") int corePoolSize,
+        @DefaultValue("10") int maxPoolSize,
+        @DefaultValue("linked") QueueType queueType,
+        @DefaultValue("25") int queueCapacity,
+        @DefaultValue("60s") Duration keepAlive,
+        @DefaultValue("reject") RejectionPolicy rejectionPolicy,
+        @DefaultValue("500ms") Duration waitTimeout,
+        @DefaultValue("1s") Duration retryAfter
+) {
+
+    public enum QueueType {
+        LINKED,
+        ARRAY,
+        SYNCHRONOUS
+    }
+
+    public enum RejectionPolicy {
+        /** Run the task on the submitting thread. */
+        CALLER_RUNS,
+        /** Fail fast; the request is answered with 503 and a Retry-After header. */
+        REJECT,
+        /** Wait up to waitTimeout for queue space, then behave like REJECT. */
+        WAIT
+    }
+}
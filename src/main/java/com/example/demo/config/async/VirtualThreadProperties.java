@@ -0,0 +1,25 @@
+package com.example.demo.config.async;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * VirtualThreadProperties holds the settings used when the application runs on virtual threads.
+ *
+ * These properties are loaded using the prefix "spring.application.executor.virtual" and only
+ * take effect when spring.threads.virtual.enabled=true on JDK 21 or later.
+ *
+ * Example configuration:
+ * spring.application.executor.virtual.concurrency-limit=200
+ * spring.application.executor.virtual.pinning-threshold=20ms
+ *
+ * @param concurrencyLimit the maximum number of user tasks running at once
+ * @param pinningThreshold the minimum time a virtual thread must stay pinned to its carrier to be reported
+ */
+@ConfigurationProperties(prefix = "spring.application.executor.virtual")
+public record VirtualThreadProperties(
+        @DefaultValue("200") int concurrencyLimit,
+        @DefaultValue("20ms") Duration pinningThreshold
+) {}
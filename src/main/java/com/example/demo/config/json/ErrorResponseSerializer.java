@@ -0,0 +1,32 @@
+package com.example.demo.config.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import com.example.demo.user.dto.response.ErrorResponse;
+
+/**
+ * Writes ErrorResponse with a pre-encoded field name, producing the same JSON as the
+ * reflective serializer.
+ */
+class ErrorResponseSerializer extends StdSerializer<ErrorResponse> {
+
+    private static final SerializableString MESSAGE = new SerializedString("message");
+
+    ErrorResponseSerializer() {
+        super(ErrorResponse.class);
+    }
+
+    @Override
+    public void serialize(ErrorResponse value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(value.message());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.config.json;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes LocalDateTime values as ISO-8601 strings without going through DateTimeFormatter.
+ *
+ * The output is identical to DateTimeFormatter.ISO_LOCAL_DATE_TIME, which is what Jackson's
+ * JavaTimeModule writes by default: seconds are always present and the fraction is printed only
+ * when non-zero, without trailing zeros. The digits are written into a small char buffer that is
+ * handed to the generator in one call. Years outside 0000-9999 fall back to the formatter.
+ */
+final class IsoTimestamps {
+
+    private static final int MAX_LENGTH = 29; // yyyy-MM-ddTHH:mm:ss.SSSSSSSSS
+
+    private IsoTimestamps() {
+    }
+
+    /**
+     * Writes the value as a JSON string, or JSON null.
+     *
+     * @param generator the generator to write to
+     * @param value the timestamp, may be null
+     * @throws IOException if writing fails
+     */
+    static void write(JsonGenerator generator, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        char[] buffer = new char[MAX_LENGTH];
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        digits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        digits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        digits(buffer, 17, value.getSecond(), 2);
+
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[19] = '.';
+            digits(buffer, 20, nano, 9);
+            length = MAX_LENGTH;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.config.json;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import com.example.demo.auth.dto.response.RegisterUserResponse;
+import com.example.demo.user.dto.response.ErrorResponse;
+import com.example.demo.user.dto.response.UserResponse;
+
+/**
+ * JsonConfig tunes the application's ObjectMapper; Spring Boot registers every Module bean with it.
+ *
+ * Blackbird replaces reflective getter, setter and constructor calls with generated lambdas for all
+ * types. The responses written on every request (RegisterUserResponse for registration and login,
+ * ErrorResponse and the UserResponse read model) get hand-written serializers that emit
+ * pre-encoded field names and format timestamps without DateTimeFormatter. Their output is
+ * identical to the default serialization, but they do not follow per-property Jackson
+ * annotations or date settings, so changes to those types must be mirrored in their serializer.
+ */
+@Configuration
+public class JsonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module responseSerializersModule() {
+        return responseSerializers();
+    }
+
+    /**
+     * Creates the module holding the hand-written response serializers.
+     *
+     * @return the module
+     */
+    public static SimpleModule responseSerializers() {
+        SimpleModule module = new SimpleModule("ResponseSerializers");
+        module.addSerializer(RegisterUserResponse.class, new RegisterUserResponseSerializer());
+        module.addSerializer(ErrorResponse.class, new ErrorResponseSerializer());
+        module.addSerializer(UserResponse.class, new UserResponseSerializer());
+        return module;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.config.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import com.example.demo.auth.dto.response.RegisterUserResponse;
+
+/**
+ * Writes RegisterUserResponse, the body of every registration and login, with pre-encoded field
+ * names and timestamps written by IsoTimestamps. The JSON is identical to the reflective
+ * serializer's, field order included.
+ */
+class RegisterUserResponseSerializer extends StdSerializer<RegisterUserResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString TOKEN = new SerializedString("token");
+    private static final SerializableString CREATED = new SerializedString("created");
+    private static final SerializableString MODIFIED = new SerializedString("modified");
+    private static final SerializableString LAST_LOGIN = new SerializedString("lastLogin");
+    private static final SerializableString IS_ACTIVE = new SerializedString("isActive");
+
+    RegisterUserResponseSerializer() {
+        super(RegisterUserResponse.class);
+    }
+
+    @Override
+    public void serialize(RegisterUserResponse value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(ID);
+        generator.writeString(value.id() == null ? null : value.id().toString());
+        generator.writeFieldName(NAME);
+        generator.writeString(value.name());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(value.email());
+        generator.writeFieldName(TOKEN);
+        generator.writeString(value.token());
+        generator.writeFieldName(CREATED);
+        IsoTimestamps.write(generator, value.created());
+        generator.writeFieldName(MODIFIED);
+        IsoTimestamps.write(generator, value.modified());
+        generator.writeFieldName(LAST_LOGIN);
+        IsoTimestamps.write(generator, value.lastLogin());
+        generator.writeFieldName(IS_ACTIVE);
+        if (value.isActive() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value.isActive());
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.config.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import com.example.demo.user.dto.response.PhoneResponse;
+import com.example.demo.user.dto.response.UserResponse;
+
+/**
+ * Writes the UserResponse read model, phones included, with pre-encoded field names and
+ * timestamps written by IsoTimestamps. The JSON is identical to the reflective serializer's:
+ * same field order, and the version is left out as it is by its @JsonIgnore.
+ */
+class UserResponseSerializer extends StdSerializer<UserResponse> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString PHONES = new SerializedString("phones");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString CITY_CODE = new SerializedString("cityCode");
+    private static final SerializableString COUNTRY_CODE = new SerializedString("countryCode");
+    private static final SerializableString CREATED = new SerializedString("created");
+    private static final SerializableString MODIFIED = new SerializedString("modified");
+    private static final SerializableString LAST_LOGIN = new SerializedString("lastLogin");
+    private static final SerializableString ACTIVE = new SerializedString("active");
+
+    UserResponseSerializer() {
+        super(UserResponse.class);
+    }
+
+    @Override
+    public void serialize(UserResponse value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(ID);
+        generator.writeString(value.id() == null ? null : value.id().toString());
+        generator.writeFieldName(NAME);
+        generator.writeString(value.name());
+        generator.writeFieldName(EMAIL);
+        generator.writeString(value.email());
+        generator.writeFieldName(PHONES);
+        if (value.phones() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray(value.phones(), value.phones().size());
+            for (PhoneResponse phone : value.phones()) {
+                generator.writeStartObject(phone);
+                generator.writeFieldName(NUMBER);
+                generator.writeString(phone.number());
+                generator.writeFieldName(CITY_CODE);
+                generator.writeString(phone.cityCode());
+                generator.writeFieldName(COUNTRY_CODE);
+                generator.writeString(phone.countryCode());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeFieldName(CREATED);
+        IsoTimestamps.write(generator, value.created());
+        generator.writeFieldName(MODIFIED);
+        IsoTimestamps.write(generator, value.modified());
+        generator.writeFieldName(LAST_LOGIN);
+        IsoTimestamps.write(generator, value.lastLogin());
+        generator.writeFieldName(ACTIVE);
+        if (value.isActive() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value.isActive());
+        }
+        generator.writeEndObject();
+    }
+}
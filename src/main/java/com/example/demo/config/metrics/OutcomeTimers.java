@@ -0,0 +1,47 @@
+package com.example.demo.config.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * OutcomeTimers is a family of timers sharing one metric name and distinguished by an "outcome" tag.
+ *
+ * Timers are registered with a percentile histogram on first use and then reused, so recording
+ * on a hot path costs a map lookup instead of building a meter id per call.
+ */
+public final class OutcomeTimers {
+
+    private final String name;
+    private final String description;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public OutcomeTimers(String name, String description, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.description = description;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records the time elapsed since the given start under the given outcome.
+     *
+     * @param outcome the outcome tag value
+     * @param startNanos the start time obtained from System.nanoTime()
+     */
+    public void record(String outcome, long startNanos) {
+        timers.computeIfAbsent(outcome, this::register)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(String outcome) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.config.metrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * TimedPasswordEncoder decorates a PasswordEncoder with the "password.encode" and
+ * "password.match" timers. Matches are tagged "success" or "mismatch".
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final OutcomeTimers encodeTimers;
+    private final OutcomeTimers matchTimers;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimers = new OutcomeTimers("password.encode", "Password hashing time", meterRegistry);
+        this.matchTimers = new OutcomeTimers("password.match", "Password verification time", meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            String encoded = delegate.encode(rawPassword);
+            outcome = "success";
+            return encoded;
+        } finally {
+            encodeTimers.record(outcome, start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            outcome = matches ? "success" : "mismatch";
+            return matches;
+        } finally {
+            matchTimers.record(outcome, start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
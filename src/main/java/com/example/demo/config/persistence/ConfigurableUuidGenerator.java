@@ -0,0 +1,57 @@
+package com.example.demo.config.persistence;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+/**
+ * ConfigurableUuidGenerator assigns UUID identifiers in memory before the insert, so inserts
+ * can still be batched.
+ *
+ * The UUID version is read once from the Hibernate setting {@value #UUID_VERSION_SETTING}
+ * (spring.jpa.properties.app.id.uuid-version):
+ * - 7 (default): time-ordered {@link UuidV7} values, so new rows are appended at the right edge
+ *   of the primary-key index instead of being scattered across it.
+ * - 4: random values from UUID.randomUUID(), as produced by GenerationType.UUID.
+ */
+public class ConfigurableUuidGenerator implements BeforeExecutionGenerator {
+
+    public static final String UUID_VERSION_SETTING = "app.id.uuid-version";
+
+    private final Supplier<UUID> generator;
+
+    public ConfigurableUuidGenerator(GeneratedUuid config, Member member, GeneratorCreationContext context) {
+        Object version = context.getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .get(UUID_VERSION_SETTING);
+        this.generator = forVersion(version == null ? "7" : version.toString().trim());
+    }
+
+    static Supplier<UUID> forVersion(String version) {
+        return switch (version) {
+            case "7" -> UuidV7::next;
+            case "4" -> UUID::randomUUID;
+            default -> throw new IllegalArgumentException(
+                    UUID_VERSION_SETTING + " must be 4 or 7 but was '" + version + "'");
+        };
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generator.get();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
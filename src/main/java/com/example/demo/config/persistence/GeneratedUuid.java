@@ -0,0 +1,18 @@
+package com.example.demo.config.persistence;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks a UUID identifier generated by {@link ConfigurableUuidGenerator}: time-ordered UUIDv7 by
+ * default, or random UUIDv4 when "app.id.uuid-version" is set to 4 in the Hibernate properties.
+ */
+@IdGeneratorType(ConfigurableUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUuid {
+}
@@ -0,0 +1,80 @@
+package com.example.demo.config.persistence;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Configuration of the in-process JCache manager backing Hibernate's second-level cache.
+ *
+ * The Caffeine cache manager is created here, with one cache per region listed in
+ * SecondLevelCacheProperties, and handed to Hibernate through "hibernate.javax.cache.cache_manager". Region sizes and TTLs are
+ * therefore ordinary Spring properties. Each application context gets its own manager under a
+ * unique URI, closed with the context, so several contexts in one JVM (as in the test suite)
+ * never share or collide on regions. Per-region hit, miss and put counts are published by
+ * Hibernate statistics through Micrometer as "hibernate.second.level.cache.*".
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final String CACHE_MANAGER_URI_PREFIX = "urn:demo:hibernate-second-level-cache:";
+
+    /**
+     * Creates the cache manager with the configured regions.
+     *
+     * @param properties the region bounds
+     * @return the JCache manager used by Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // The provider hands out one manager per URI and class loader; the default URI would be shared JVM-wide.
+        URI uri = URI.create(CACHE_MANAGER_URI_PREFIX + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        Map<String, SecondLevelCacheProperties.Region> regions =
+                properties.regions() == null ? Map.of() : properties.regions();
+        regions.forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+            if (region.ttl() != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+            if (cacheManager.getCache(name) == null) {
+                cacheManager.createCache(name, configuration);
+            }
+            log.debug("Created second-level cache region {} (maximum size {}, ttl {})",
+                    name, region.maximumSize(), region.ttl());
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Passes the cache manager to Hibernate's JCache region factory.
+     *
+     * @param hibernateCacheManager the JCache manager holding the regions
+     * @return the customizer adding the cache manager to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config.persistence;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * SecondLevelCacheProperties holds the size and TTL of each Hibernate second-level cache region.
+ *
+ * These properties are loaded using the prefix "spring.application.persistence.cache".
+ * Regions that are not listed are created by Hibernate with the JCache provider defaults.
+ *
+ * Example configuration:
+ * spring.application.persistence.cache.regions.users.maximum-size=10000
+ * spring.application.persistence.cache.regions.users.ttl=10m
+ *
+ * @param regions the cache regions to create, keyed by region name
+ */
+@ConfigurationProperties(prefix = "spring.application.persistence.cache")
+public record SecondLevelCacheProperties(
+        Map<String, Region> regions
+) {
+
+    /**
+     * Bounds of a single cache region.
+     *
+     * @param maximumSize the maximum number of entries kept in the region
+     * @param ttl how long an entry is kept after it was written; entries never expire when not set
+     */
+    public record Region(
+            @DefaultValue("10000") long maximumSize,
+            Duration ttl
+    ) {}
+}
@@ -0,0 +1,45 @@
+package com.example.demo.config.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UuidV7 produces time-ordered version 7 UUIDs (RFC 9562).
+ *
+ * The 48 most significant bits hold the Unix time in milliseconds and the following 12 bits a
+ * counter, so values are strictly increasing within this JVM even when many are generated in the
+ * same millisecond or the clock steps back; an exhausted counter borrows from the next
+ * millisecond. The remaining 62 bits are random.
+ *
+ * The random bits come from ThreadLocalRandom: ids are meant to be unique and well distributed,
+ * not unguessable, and the timestamp is readable from the id anyway.
+ */
+public final class UuidV7 {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    /**
+     * Last issued value of (unix milliseconds << 12 | counter).
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    /**
+     * Returns a new UUIDv7 greater than every value previously returned by this method.
+     *
+     * @return the next time-ordered UUID
+     */
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << 12;
+        long timeAndCounter = LAST.updateAndGet(last -> Math.max(last + 1, candidate));
+
+        long mostSignificant = (timeAndCounter >>> 12) << 16 | VERSION | (timeAndCounter & 0xFFF);
+        long leastSignificant = VARIANT | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
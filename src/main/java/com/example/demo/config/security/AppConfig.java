@@ -6,14 +6,14 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 import lombok.RequiredArgsConstructor;
 
-import com.example.demo.user.entity.User;
+import com.example.demo.config.metrics.TimedPasswordEncoder;
+
 import com.example.demo.user.repository.UserRepository;
 
 /**
@@ -25,23 +25,19 @@ import com.example.demo.user.repository.UserRepository;
 public class AppConfig {
 
     private final UserRepository repository;
+    private final UserDetailsCacheProperties userDetailsCacheProperties;
+    private final PasswordEncodingProperties passwordEncodingProperties;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Creates a UserDetailsService that loads user details by email from the UserRepository.
+     * Creates a UserDetailsService that loads user details by email from the UserRepository
+     * and caches them with the configured TTL and size bounds.
      *
-     * @return A UserDetailsService that retrieves user details for authentication.
-     * @throws UsernameNotFoundException if the user with the specified email is not found.
+     * @return A CachedUserDetailsService that retrieves user details for authentication.
      */
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> {
-            User user = repository.findByEmail(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            return org.springframework.security.core.userdetails.User.builder()
-                    .username(user.getEmail())
-                    .password(user.getPassword())
-                    .build();
-        };
+    public CachedUserDetailsService userDetailsService() {
+        return new CachedUserDetailsService(repository, userDetailsCacheProperties, meterRegistry);
     }
 
     /**
@@ -70,12 +66,16 @@ public class AppConfig {
     }
 
     /**
-     * Creates a BCryptPasswordEncoder for encoding and verifying passwords.
+     * Creates a DelegatingPasswordEncoder for encoding and verifying passwords.
+     *
+     * New hashes use the configured algorithm and cost; hashes written by any supported
+     * algorithm, including legacy unprefixed BCrypt hashes, remain verifiable.
+     * Hashing and verification are timed as "password.encode" and "password.match".
      *
-     * @return A PasswordEncoder instance using BCrypt.
+     * @return A PasswordEncoder instance built from the password hashing properties.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(PasswordEncoderFactory.create(passwordEncodingProperties), meterRegistry);
     }
 }
\ No newline at end of file
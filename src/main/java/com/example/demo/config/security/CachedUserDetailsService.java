@@ -0,0 +1,94 @@
+package com.example.demo.config.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+/**
+ * CachedUserDetailsService loads user principals by email and keeps them in a bounded,
+ * time-limited cache so authenticated requests do not hit the database on every call.
+ *
+ * Entries are invalidated by the UserService whenever a user changes. Invalidation waits for
+ * any in-flight load of the same key, so a principal read before a change is never kept after it.
+ * Hit ratio and load time are published through Micrometer as "security.user-details".
+ */
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final UserRepository repository;
+    private final boolean enabled;
+    private final Cache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(UserRepository repository,
+                                    UserDetailsCacheProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.enabled = properties.enabled();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .maximumSize(properties.maximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.user-details");
+    }
+
+    /**
+     * Returns the principal for the given email, loading it from the repository on a cache miss.
+     *
+     * A copy is returned so that credential erasure by the caller never alters the cached entry.
+     *
+     * @param username the email of the user
+     * @return the user principal
+     * @throws UsernameNotFoundException if no user with the given email exists
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!enabled) {
+            return load(username);
+        }
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(cache.get(username, this::load))
+                .build();
+    }
+
+    /**
+     * Removes the cached principals for the given emails.
+     *
+     * @param emails the emails whose principals are no longer valid
+     */
+    public void evict(String... emails) {
+        for (String email : emails) {
+            if (email != null) {
+                cache.invalidate(email);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and load-time counters.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private UserDetails load(String username) {
+        User user = repository.loadByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(user.getEmail())
+                .password(user.getPassword())
+                .disabled(!user.isActive())
+                .build();
+    }
+}
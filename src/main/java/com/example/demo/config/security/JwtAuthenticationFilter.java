@@ -5,6 +5,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,29 +16,79 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SecurityException;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+
+import com.example.demo.config.metrics.OutcomeTimers;
 
 import java.io.IOException;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * JwtAuthenticationFilter is a custom Spring Security filter that intercepts HTTP requests
  * to validate and process JWT-based authentication.
  *
  * This filter ensures that:
- * - Requests to authentication endpoints are ignored.
+ * - Requests to authentication endpoints are ignored, except batch registration.
  * - Valid JWTs are extracted and parsed from the Authorization header.
+ * - Tokens already verified by a previous request are served from the VerifiedTokenCache.
+ * - Tokens whose "jti" the TokenRegistry lists as revoked (by a later login or an update of the
+ *   user) are rejected. Tokens the registry has never seen, e.g. issued before a restart or by
+ *   another instance, are accepted.
+ * - Tokens of users that are disabled (inactive) or locked are rejected.
  * - Expired or invalid tokens are ignored.
  * - Upon successful validation, the user is authenticated in the SecurityContext.
+ *
+ * In stateless mode the principal is built from the verified claims only: the user id,
+ * active flag and token version are checked against the TokenVersionRegistry, which reads a
+ * user's persisted version at most once per cache TTL, and the UserDetailsService is never
+ * called. Revocation is then enforced by the token version instead of the TokenRegistry.
+ *
+ * The time spent authenticating (excluding the rest of the chain) is recorded as "auth.filter",
+ * tagged by outcome: authenticated, anonymous, revoked, expired, invalid_signature, invalid, not_found.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Authentication endpoints that still require a bearer token.
+     */
+    public static final String[] AUTHENTICATED_AUTH_PATHS = {"/api/auth/register/batch"};
+
+    private static final String OUTCOME_AUTHENTICATED = "authenticated";
+    private static final String OUTCOME_ANONYMOUS = "anonymous";
+    private static final String OUTCOME_REVOKED = "revoked";
+    private static final String OUTCOME_NOT_FOUND = "not_found";
+
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final StatelessAuthProperties statelessAuthProperties;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRegistry tokenRegistry;
+    private final OutcomeTimers filterTimers;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   VerifiedTokenCache verifiedTokenCache,
+                                   UserDetailsService userDetailsService,
+                                   StatelessAuthProperties statelessAuthProperties,
+                                   TokenVersionRegistry tokenVersionRegistry,
+                                   TokenRegistry tokenRegistry,
+                                   MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.userDetailsService = userDetailsService;
+        this.statelessAuthProperties = statelessAuthProperties;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenRegistry = tokenRegistry;
+        this.filterTimers = new OutcomeTimers("auth.filter", "Time spent authenticating a request from its JWT", meterRegistry);
+    }
 
     /**
      * Filters incoming HTTP requests and performs JWT authentication if applicable.
@@ -55,32 +106,69 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
-        if (request.getServletPath().contains("/auth") ||
+        if ((request.getServletPath().contains("/auth")
+                && !List.of(AUTHENTICATED_AUTH_PATHS).contains(request.getServletPath())) ||
                 request.getServletPath().contains("/v3") ||
                 request.getServletPath().contains("/swagger-ui")) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        final long start = System.nanoTime();
+        String outcome = JwtService.OUTCOME_INVALID;
+        try {
+            outcome = authenticate(request);
+        } catch (ExpiredJwtException e) {
+            outcome = JwtService.OUTCOME_EXPIRED;
+            throw e;
+        } catch (SecurityException e) {
+            outcome = JwtService.OUTCOME_INVALID_SIGNATURE;
+            throw e;
+        } catch (UsernameNotFoundException e) {
+            outcome = OUTCOME_NOT_FOUND;
+            throw e;
+        } finally {
+            filterTimers.record(outcome, start);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authenticates the request from its bearer token, if any.
+     *
+     * @param request the incoming HttpServletRequest
+     * @return the outcome of the authentication attempt
+     */
+    private String authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            return OUTCOME_ANONYMOUS;
         }
 
         final String jwt = authHeader.substring(7);
-        final Claims claims = jwtService.extractUsername(jwt);
+        final Claims claims = verifiedTokenCache.get(jwt, jwtService.keyGeneration(), jwtService::extractUsername);
         if (claims == null || claims.getSubject() == null) {
-            filterChain.doFilter(request, response);
-            return;
+            return OUTCOME_ANONYMOUS;
         }
 
         if (claims.getExpiration().before(new Date(System.currentTimeMillis()))) {
-            filterChain.doFilter(request, response);
-            return;
+            return JwtService.OUTCOME_EXPIRED;
+        }
+
+        if (!statelessAuthProperties.enabled()
+                && (claims.getId() == null || tokenRegistry.isRevoked(claims.getId()))) {
+            return OUTCOME_REVOKED;
+        }
+
+        final UserDetails userDetails = statelessAuthProperties.enabled()
+                ? principalFromClaims(claims)
+                : userDetailsService.loadUserByUsername(claims.getSubject());
+        // CachedUserDetailsService disables inactive users; their tokens are rejected like revoked ones.
+        if (userDetails == null || !userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            return OUTCOME_REVOKED;
         }
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
         final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails,
                 null,
@@ -88,7 +176,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         );
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
+        return OUTCOME_AUTHENTICATED;
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Builds the principal from the verified claims of a stateless token.
+     *
+     * @param claims the verified token claims
+     * @return the principal, or null if the token is missing stateless claims, belongs to an
+     *         inactive user or has been revoked by a version bump
+     */
+    private UserDetails principalFromClaims(Claims claims) {
+        final String userId = claims.get(JwtService.USER_ID_CLAIM, String.class);
+        final Integer version = claims.get(JwtService.VERSION_CLAIM, Integer.class);
+        if (userId == null || version == null || !Boolean.TRUE.equals(claims.get(JwtService.ACTIVE_CLAIM, Boolean.class))) {
+            return null;
+        }
+        if (!tokenVersionRegistry.isCurrent(UUID.fromString(userId), version)) {
+            return null;
+        }
+
+        final List<?> authorities = claims.get(JwtService.AUTHORITIES_CLAIM, List.class);
+        return org.springframework.security.core.userdetails.User
+                .withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities == null
+                        ? new String[0]
+                        : authorities.stream().map(String::valueOf).toArray(String[]::new))
+                .build();
     }
 }
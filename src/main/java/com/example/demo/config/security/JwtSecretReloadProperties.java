@@ -0,0 +1,26 @@
+package com.example.demo.config.security;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * JwtSecretReloadProperties configures reloading the JWT signing secret from a file.
+ *
+ * These properties are loaded using the prefix "spring.application.security.jwt.secret-reload".
+ *
+ * Example configuration:
+ * spring.application.security.jwt.secret-reload.file=/run/secrets/jwt-secret
+ * spring.application.security.jwt.secret-reload.interval=30s
+ *
+ * @param file a file holding the base64-encoded secret, for example a mounted Kubernetes secret;
+ *             when not set the secret is only read from spring.application.security.jwt.secret at startup
+ * @param interval how often the file is checked for a new secret
+ */
+@ConfigurationProperties(prefix = "spring.application.security.jwt.secret-reload")
+public record JwtSecretReloadProperties(
+        Path file,
+        @DefaultValue("30s") Duration interval
+) {}
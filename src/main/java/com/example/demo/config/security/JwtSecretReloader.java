@@ -0,0 +1,81 @@
+package com.example.demo.config.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JwtSecretReloader keeps the JwtService signing secret in line with the configured secret file.
+ *
+ * It is only created when spring.application.security.jwt.secret-reload.file is set. The file is
+ * read on startup and then every reload interval; when its content differs from the secret in use,
+ * JwtService.rotateSecret is called, which starts a new key generation and drops cached
+ * verifications. A missing, unreadable or invalid file is logged and the current key is kept.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "spring.application.security.jwt.secret-reload", name = "file")
+public class JwtSecretReloader implements SchedulingConfigurer {
+
+    private final JwtService jwtService;
+    private final JwtSecretReloadProperties properties;
+
+    private String currentSecret;
+
+    public JwtSecretReloader(JwtService jwtService,
+                             SecurityConfigProperties securityConfigProperties,
+                             JwtSecretReloadProperties properties) {
+        this.jwtService = jwtService;
+        this.properties = properties;
+        this.currentSecret = securityConfigProperties.secret();
+    }
+
+    /**
+     * Applies the secret file on startup.
+     */
+    @PostConstruct
+    public void open() {
+        reload();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::reload, properties.interval());
+    }
+
+    /**
+     * Rotates the signing secret if the secret file changed since the last call.
+     *
+     * @return true if the secret was rotated
+     */
+    public synchronized boolean reload() {
+        String secret;
+        try {
+            secret = Files.readString(properties.file(), StandardCharsets.UTF_8).strip();
+        } catch (IOException e) {
+            log.warn("Could not read JWT secret file {}, keeping the current key", properties.file(), e);
+            return false;
+        }
+        if (secret.equals(currentSecret)) {
+            return false;
+        }
+        try {
+            jwtService.rotateSecret(secret);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid JWT secret in {}: {}", properties.file(), e.getMessage());
+            return false;
+        }
+        currentSecret = secret;
+        log.info("Rotated JWT signing secret from {} (key generation {})", properties.file(), jwtService.keyGeneration());
+        return true;
+    }
+}
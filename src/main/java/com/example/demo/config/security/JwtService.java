@@ -3,60 +3,155 @@ package com.example.demo.config.security;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
+import java.util.UUID;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 
+import com.example.demo.config.metrics.OutcomeTimers;
 import com.example.demo.user.entity.User;
 
 /**
  * JwtService handles the generation and validation of JSON Web Tokens (JWT)
  * using a shared secret key and HS256 signing algorithm.
+ *
+ * The decoded signing key and the JwtParser built from it are immutable and thread-safe,
+ * so they are derived once and reused by every call. They are only rebuilt when the secret
+ * is rotated with rotateSecret, which JwtSecretReloader calls when the configured secret file
+ * changes; each rotation starts a new key generation.
+ *
+ * In stateless mode the token also carries the user id, active flag, authorities and
+ * token version, so requests can be authenticated from the claims alone.
+ *
+ * Every token carries a unique "jti" claim and is recorded in the TokenRegistry when issued.
+ *
+ * Signing and verification are timed as "jwt.sign" and "jwt.verify", tagged by outcome
+ * (success, expired, invalid_signature, invalid).
  */
 @Component
-@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ACTIVE_CLAIM = "active";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String VERSION_CLAIM = "ver";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_EXPIRED = "expired";
+    public static final String OUTCOME_INVALID_SIGNATURE = "invalid_signature";
+    public static final String OUTCOME_INVALID = "invalid";
+
     private final SecurityConfigProperties securityConfigProperties;
+    private final StatelessAuthProperties statelessAuthProperties;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRegistry tokenRegistry;
+    private final OutcomeTimers signTimers;
+    private final OutcomeTimers verifyTimers;
+
+    private volatile SigningState signingState;
+
+    public JwtService(SecurityConfigProperties securityConfigProperties,
+                      StatelessAuthProperties statelessAuthProperties,
+                      TokenVersionRegistry tokenVersionRegistry,
+                      TokenRegistry tokenRegistry,
+                      MeterRegistry meterRegistry) {
+        this.securityConfigProperties = securityConfigProperties;
+        this.statelessAuthProperties = statelessAuthProperties;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenRegistry = tokenRegistry;
+        this.signTimers = new OutcomeTimers("jwt.sign", "JWT signing time", meterRegistry);
+        this.verifyTimers = new OutcomeTimers("jwt.verify", "JWT signature verification and parsing time", meterRegistry);
+        this.signingState = SigningState.of(securityConfigProperties.secret(), 0);
+    }
 
     /**
      * Generates a signed JWT token for the given user.
      *
-     * The token contains the user's email as the subject, the current time as the issued time,
-     * and an expiration time based on configuration.
+     * The token contains a unique id, the user's email as the subject, the current time as the
+     * issued time, and an expiration time based on configuration. The token is registered in the
+     * TokenRegistry before it is returned. In stateless mode the user must already
+     * have an id, which is embedded together with the active flag, authorities and the user's
+     * current token version.
      *
      * @param user the user for whom the token is generated
      * @return a signed JWT as a String
      */
     public String generateToken(final User user) {
-        return Jwts.builder()
+        long start = System.nanoTime();
+        String outcome = OUTCOME_INVALID;
+        try {
+            String token = buildToken(user);
+            outcome = OUTCOME_SUCCESS;
+            return token;
+        } finally {
+            signTimers.record(outcome, start);
+        }
+    }
+
+    private String buildToken(final User user) {
+        long now = System.currentTimeMillis();
+        long expiration = now + securityConfigProperties.expiration();
+        String jti = UUID.randomUUID().toString();
+        JwtBuilder builder = Jwts.builder()
+                .setId(jti)
                 .setSubject(user.getEmail())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + securityConfigProperties.expiration()))
-                .signWith(getSecretKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(expiration));
+
+        if (statelessAuthProperties.enabled()) {
+            builder.claim(USER_ID_CLAIM, user.getId().toString())
+                    .claim(ACTIVE_CLAIM, user.isActive())
+                    // Users carry no roles yet; the claim keeps the token shape stable once they do.
+                    .claim(AUTHORITIES_CLAIM, Collections.emptyList())
+                    .claim(VERSION_CLAIM, tokenVersionRegistry.current(user.getId()));
+        }
+
+        String token = builder
+                .signWith(signingState.key(), SignatureAlgorithm.HS256)
                 .compact();
+        tokenRegistry.register(new TokenRegistry.IssuedToken(
+                jti, user.getId(), user.getEmail(), Instant.ofEpochMilli(now), Instant.ofEpochMilli(expiration)));
+        return token;
     }
 
     /**
      * Extracts the claims from the given JWT token.
      *
-     * This method parses the token and verifies its signature using the secret key.
+     * This method parses the token and verifies its signature using the cached parser.
      *
      * @param token the JWT token from which to extract claims
      * @return the Claims object containing token data such as subject and expiration
      */
     public Claims extractUsername(final String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        String outcome = OUTCOME_INVALID;
+        try {
+            Claims claims = signingState.parser()
+                    .parseClaimsJws(token)
+                    .getBody();
+            outcome = OUTCOME_SUCCESS;
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = OUTCOME_EXPIRED;
+            throw e;
+        } catch (SecurityException e) {
+            outcome = OUTCOME_INVALID_SIGNATURE;
+            throw e;
+        } finally {
+            verifyTimers.record(outcome, start);
+        }
     }
 
     /**
@@ -69,10 +164,51 @@ public class JwtService {
      * @throws IllegalArgumentException if the key is too short
      */
     public SecretKey getSecretKey() {
-        byte[] decodedKey = Decoders.BASE64.decode(securityConfigProperties.secret());
-        if (decodedKey.length < 32) {
-            throw new IllegalArgumentException("Secret key must be at least 256 bits (32 bytes)");
+        return signingState.key();
+    }
+
+    /**
+     * Returns the generation of the current signing key.
+     *
+     * It starts at 0 and is incremented by every rotateSecret call, so verification results can
+     * be cached per key and dropped once the key changes.
+     *
+     * @return the current key generation
+     */
+    public long keyGeneration() {
+        return signingState.generation();
+    }
+
+    /**
+     * Replaces the signing secret.
+     *
+     * Tokens signed with the previous secret fail verification from then on. The new key and
+     * parser are derived before they are published, so concurrent calls see either the old or
+     * the new state, never a mix of both.
+     *
+     * @param secret the new base64-encoded secret
+     * @throws IllegalArgumentException if the secret is missing or shorter than 256 bits
+     */
+    public synchronized void rotateSecret(String secret) {
+        signingState = SigningState.of(secret, signingState.generation() + 1);
+    }
+
+    /**
+     * Immutable snapshot of the key derived from the secret, a parser bound to that key and
+     * the generation of the key, incremented on every rotation.
+     */
+    private record SigningState(SecretKey key, JwtParser parser, long generation) {
+
+        static SigningState of(String secret, long generation) {
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalArgumentException("JWT secret must be configured (spring.application.security.jwt.secret)");
+            }
+            byte[] decodedKey = Decoders.BASE64.decode(secret);
+            if (decodedKey.length < 32) {
+                throw new IllegalArgumentException("Secret key must be at least 256 bits (32 bytes)");
+            }
+            SecretKey key = Keys.hmacShaKeyFor(decodedKey);
+            return new SigningState(key, Jwts.parserBuilder().setSigningKey(key).build(), generation);
         }
-        return Keys.hmacShaKeyFor(decodedKey);
     }
 }
@@ -0,0 +1,138 @@
+package com.example.demo.config.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PasswordEncoderFactory builds the application's DelegatingPasswordEncoder.
+ *
+ * New hashes are written with the configured algorithm and prefixed with its id. Existing
+ * hashes keep verifying, and PasswordEncoder.upgradeEncoding reports the ones produced with a
+ * different algorithm or a lower cost so they can be re-hashed after a successful login. A lower
+ * cost is only detected for BCrypt and Argon2; PBKDF2 hashes do not carry their iteration count.
+ *
+ * When calibration is enabled, the cost parameter of the selected algorithm is raised until a
+ * single hash takes about the configured target latency. The configured cost acts as a floor.
+ */
+@Slf4j
+public final class PasswordEncoderFactory {
+
+    private static final String CALIBRATION_SAMPLE = "calibration-sample-password";
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final Set<String> ENCODER_IDS = Set.of("bcrypt", "argon2", "pbkdf2");
+    private static final Pattern BARE_BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private PasswordEncoderFactory() {
+    }
+
+    /**
+     * Creates the delegating encoder described by the given properties.
+     *
+     * @param properties the password hashing configuration
+     * @return the delegating password encoder
+     * @throws IllegalArgumentException if the configured algorithm is not supported
+     */
+    public static PasswordEncoder create(PasswordEncodingProperties properties) {
+        PasswordEncodingProperties.Bcrypt bcrypt = properties.bcrypt();
+        PasswordEncodingProperties.Argon2 argon2 = properties.argon2();
+        PasswordEncodingProperties.Pbkdf2 pbkdf2 = properties.pbkdf2();
+
+        IntFunction<PasswordEncoder> bcryptWithStrength = BCryptPasswordEncoder::new;
+        IntFunction<PasswordEncoder> argon2WithIterations = iterations -> new Argon2PasswordEncoder(
+                argon2.saltLength(), argon2.hashLength(), argon2.parallelism(), argon2.memory(), iterations);
+        IntFunction<PasswordEncoder> pbkdf2WithIterations = iterations -> new Pbkdf2PasswordEncoder(
+                "", pbkdf2.saltLength(), iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+
+        int bcryptStrength = bcrypt.strength();
+        int argon2Iterations = argon2.iterations();
+        int pbkdf2Iterations = pbkdf2.iterations();
+
+        String algorithm = properties.algorithm();
+        if (properties.calibration().enabled()) {
+            Duration target = properties.calibration().targetLatency();
+            switch (algorithm) {
+                case "bcrypt" -> bcryptStrength = calibrateStrength(bcryptWithStrength, bcryptStrength, target);
+                case "argon2" -> argon2Iterations = calibrateIterations(argon2WithIterations, argon2Iterations, target);
+                case "pbkdf2" -> pbkdf2Iterations = calibrateIterations(pbkdf2WithIterations, pbkdf2Iterations, target);
+                default -> { }
+            }
+        }
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcryptWithStrength.apply(bcryptStrength));
+        encoders.put("argon2", argon2WithIterations.apply(argon2Iterations));
+        encoders.put("pbkdf2", pbkdf2WithIterations.apply(pbkdf2Iterations));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+
+        log.info("Password hashing: algorithm={}, bcryptStrength={}, argon2Iterations={}, pbkdf2Iterations={}",
+                algorithm, bcryptStrength, argon2Iterations, pbkdf2Iterations);
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before the encoder was made pluggable carry no {id} prefix and are BCrypt.
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+        return delegating;
+    }
+
+    /**
+     * Tells whether a stored hash can be verified by the encoder built by {@link #create}: either
+     * it carries the {id} prefix of a supported algorithm, or it is a bare BCrypt hash, which is
+     * what hashes stored before the encoder was made pluggable look like.
+     *
+     * @param hash the stored hash
+     * @return true if the hash is in a supported format
+     */
+    public static boolean isSupportedHash(String hash) {
+        if (hash == null) {
+            return false;
+        }
+        if (hash.startsWith("{")) {
+            int end = hash.indexOf('}');
+            return end > 0 && end < hash.length() - 1 && ENCODER_IDS.contains(hash.substring(1, end));
+        }
+        return BARE_BCRYPT.matcher(hash).matches();
+    }
+
+    /**
+     * Finds the highest exponential cost (such as BCrypt log rounds) whose hash time stays within
+     * the target, never going below the configured floor.
+     */
+    static int calibrateStrength(IntFunction<PasswordEncoder> encoderFactory, int floor, Duration target) {
+        int strength = floor;
+        while (strength < MAX_BCRYPT_STRENGTH
+                && measure(encoderFactory.apply(strength + 1)).compareTo(target) <= 0) {
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Scales a linear cost (iterations) so that a single hash takes about the target time,
+     * never going below the configured floor.
+     */
+    static int calibrateIterations(IntFunction<PasswordEncoder> encoderFactory, int floor, Duration target) {
+        long elapsedNanos = Math.max(1, measure(encoderFactory.apply(floor)).toNanos());
+        long scaled = floor * target.toNanos() / elapsedNanos;
+        return (int) Math.max(floor, Math.min(Integer.MAX_VALUE, scaled));
+    }
+
+    private static Duration measure(PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_SAMPLE);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_SAMPLE);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
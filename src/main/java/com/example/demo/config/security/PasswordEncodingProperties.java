@@ -0,0 +1,80 @@
+package com.example.demo.config.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * PasswordEncodingProperties holds the password hashing configuration.
+ *
+ * These properties are loaded using the prefix "spring.application.security.password".
+ * New hashes are produced with the selected algorithm; hashes produced by any of the
+ * supported algorithms (and legacy BCrypt hashes without an id prefix) remain verifiable.
+ *
+ * Example configuration:
+ * spring.application.security.password.algorithm=bcrypt
+ * spring.application.security.password.bcrypt.strength=10
+ * spring.application.security.password.calibration.enabled=true
+ * spring.application.security.password.calibration.target-latency=250ms
+ *
+ * @param algorithm the id of the algorithm used for new hashes: bcrypt, argon2 or pbkdf2
+ * @param bcrypt the BCrypt parameters
+ * @param argon2 the Argon2id parameters
+ * @param pbkdf2 the PBKDF2 parameters
+ * @param calibration the startup cost calibration settings
+ */
+@ConfigurationProperties(prefix = "spring.application.security.password")
+public record PasswordEncodingProperties(
+        @DefaultValue("bcrypt") String algorithm,
+        @DefaultValue Bcrypt bcrypt,
+        @DefaultValue Argon2 argon2,
+        @DefaultValue Pbkdf2 pbkdf2,
+        @DefaultValue Calibration calibration
+) {
+
+    /**
+     * @param strength the BCrypt log rounds
+     */
+    public record Bcrypt(
+            @DefaultValue("10") int strength
+    ) {}
+
+    /**
+     * @param saltLength the salt length in bytes
+     * @param hashLength the hash length in bytes
+     * @param parallelism the degree of parallelism
+     * @param memory the memory cost in kibibytes
+     * @param iterations the number of passes over memory
+     */
+    public record Argon2(
+            @DefaultValue("16") int saltLength,
+            @DefaultValue("32") int hashLength,
+            @DefaultValue("1") int parallelism,
+            @DefaultValue("16384") int memory,
+            @DefaultValue("2") int iterations
+    ) {}
+
+    /**
+     * PBKDF2 hashes do not record their iteration count, so Pbkdf2PasswordEncoder cannot tell
+     * whether a stored hash used fewer iterations and never reports it as needing an upgrade.
+     * Raising the iterations (or calibrating them) only applies to new hashes; existing PBKDF2
+     * hashes are only re-hashed on login when the algorithm is switched away from pbkdf2.
+     *
+     * @param saltLength the salt length in bytes
+     * @param iterations the number of PBKDF2-HMAC-SHA256 iterations
+     */
+    public record Pbkdf2(
+            @DefaultValue("16") int saltLength,
+            @DefaultValue("310000") int iterations
+    ) {}
+
+    /**
+     * @param enabled whether the cost of the selected algorithm is calibrated at startup
+     * @param targetLatency the time a single hash should take on the current hardware
+     */
+    public record Calibration(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("250ms") Duration targetLatency
+    ) {}
+}
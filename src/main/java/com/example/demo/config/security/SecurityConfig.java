@@ -1,7 +1,10 @@
 package com.example.demo.config.security;
 
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -10,6 +13,8 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -18,6 +23,10 @@ import lombok.RequiredArgsConstructor;
  * This configuration sets up JWT-based stateless security by:
  * - Disabling CSRF protection
  * - Permitting unauthenticated access to authentication endpoints
+ * - Permitting async dispatches, whose original request has already been authorized
+ * - Permitting unauthenticated access to the health endpoints
+ * - Permitting unauthenticated access to the Prometheus scrape endpoint on the management port only,
+ *   which is bound to the loopback address (management.server.*); on the public port it requires a JWT
  * - Requiring authentication for all other requests
  * - Using a custom authentication provider
  * - Adding a JWT authentication filter before the username/password filter
@@ -30,6 +39,23 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
 
+    /**
+     * The port of the management server, or -1 while it has not started or actuator shares the public port.
+     */
+    private volatile int managementPort = -1;
+
+    /**
+     * Records the port the management server listens on, which may have been chosen at random.
+     *
+     * @param event the event published when a web server of this context or its management child starts
+     */
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (WebServerApplicationContext.hasServerNamespace(event.getApplicationContext(), "management")) {
+            managementPort = event.getWebServer().getPort();
+        }
+    }
+
     /**
      * Defines the security filter chain bean used by Spring Security.
      *
@@ -45,9 +71,15 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(req -> req
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Each batch item costs a password hash, so batches are not open to anonymous callers.
+                        .requestMatchers(JwtAuthenticationFilter.AUTHENTICATED_AUTH_PATHS).authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/v3/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
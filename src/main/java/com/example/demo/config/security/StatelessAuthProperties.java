@@ -0,0 +1,25 @@
+package com.example.demo.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * StatelessAuthProperties controls the claims-only authentication mode.
+ *
+ * These properties are loaded using the prefix "spring.application.security.jwt.stateless".
+ *
+ * When enabled, issued tokens carry the user id, active flag, authorities and token version,
+ * and the JwtAuthenticationFilter authenticates requests from those claims alone without
+ * loading the user. Revocations are version bumps persisted in the users table and cached per
+ * user (see TokenVersionProperties), so tokens stay valid across restarts and instances, and a
+ * revocation reaches the other instances within the version cache TTL.
+ *
+ * Example configuration:
+ * spring.application.security.jwt.stateless.enabled=true
+ *
+ * @param enabled whether requests are authenticated from token claims only
+ */
+@ConfigurationProperties(prefix = "spring.application.security.jwt.stateless")
+public record StatelessAuthProperties(
+        @DefaultValue("false") boolean enabled
+) {}
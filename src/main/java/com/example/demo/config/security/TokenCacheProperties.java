@@ -0,0 +1,22 @@
+package com.example.demo.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * TokenCacheProperties holds configuration for the cache of already-verified JWT claims.
+ *
+ * These properties are loaded using the prefix "spring.application.security.jwt.cache".
+ *
+ * Example configuration:
+ * spring.application.security.jwt.cache.enabled=true
+ * spring.application.security.jwt.cache.maximum-size=10000
+ *
+ * @param enabled whether verified claims are cached between requests
+ * @param maximumSize the maximum number of tokens kept in the cache
+ */
+@ConfigurationProperties(prefix = "spring.application.security.jwt.cache")
+public record TokenCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize
+) {}
@@ -0,0 +1,348 @@
+package com.example.demo.config.security;
+
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TokenRegistry keeps the tokens issued by JwtService, keyed by their "jti" claim, with an
+ * index of the tokens issued to each user, and the tokens revoked since.
+ *
+ * JwtAuthenticationFilter uses it as a denylist: a correctly signed, unexpired token is accepted
+ * unless its jti has been revoked here. Tokens this registry has never seen, for example tokens
+ * issued before a restart without a snapshot file or by another instance, are therefore still
+ * accepted; only revocation is node-local. Both maps are Caffeine caches bounded by expiry alone,
+ * never by size, so an entry only leaves when its token expires and can no longer be accepted
+ * anyway; memory grows with the number of unexpired tokens. Issued tokens are not stored in the
+ * users table.
+ *
+ * When a snapshot file is configured, every registration and revocation is queued and appended to
+ * it every flush interval, so issuing a token never waits on file I/O. On startup the file is
+ * replayed (skipping expired tokens) and compacted to the unexpired entries, so revocations and
+ * the per-user index survive restarts. Without it a restart keeps sessions valid but forgets
+ * revocations and which tokens a later revokeAll should reach.
+ * Published through Micrometer as "jwt.issued-tokens" and "jwt.revoked-tokens".
+ */
+@Slf4j
+@Component
+public class TokenRegistry implements SchedulingConfigurer {
+
+    private static final String ISSUED = "I";
+    private static final String REVOKED = "R";
+
+    private final Path snapshotFile;
+    private final Duration flushInterval;
+    private final Queue<String> pendingLines = new ConcurrentLinkedQueue<>();
+    private final Cache<String, IssuedToken> tokens;
+    private final Cache<String, IssuedToken> revokedTokens;
+    private final Map<UUID, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    private BufferedWriter snapshotWriter;
+
+    public TokenRegistry(TokenRegistryProperties properties, MeterRegistry meterRegistry) {
+        this.snapshotFile = properties.snapshotFile();
+        this.flushInterval = properties.flushInterval();
+        this.tokens = Caffeine.newBuilder()
+                .expireAfter(new ExpireAtTokenExpiration())
+                .executor(Runnable::run)
+                .removalListener((String jti, IssuedToken token, RemovalCause cause) -> {
+                    if (token != null) {
+                        unindex(token);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new ExpireAtTokenExpiration())
+                .executor(Runnable::run)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.issued-tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, revokedTokens, "jwt.revoked-tokens");
+    }
+
+    /**
+     * Restores the registry from the snapshot file, if configured, and opens it for appending.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            if (Files.exists(snapshotFile)) {
+                Files.readAllLines(snapshotFile, StandardCharsets.UTF_8).forEach(this::replay);
+                compact();
+            } else if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+            snapshotWriter = Files.newBufferedWriter(snapshotFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.info("Restored {} issued and {} revoked tokens from {}",
+                    tokens.estimatedSize(), revokedTokens.estimatedSize(), snapshotFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open token snapshot " + snapshotFile, e);
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (snapshotFile != null) {
+            registrar.addFixedDelayTask(this::flush, flushInterval);
+        }
+    }
+
+    /**
+     * Appends the queued registrations and revocations to the snapshot file.
+     * Runs every flush interval and when the registry is closed.
+     */
+    public synchronized void flush() {
+        if (snapshotWriter == null) {
+            return;
+        }
+        try {
+            String line;
+            while ((line = pendingLines.poll()) != null) {
+                snapshotWriter.write(line);
+                snapshotWriter.newLine();
+            }
+            snapshotWriter.flush();
+        } catch (IOException e) {
+            log.warn("Could not append to token snapshot {}", snapshotFile, e);
+        }
+    }
+
+    /**
+     * Flushes and closes the snapshot file.
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        flush();
+        if (snapshotWriter != null) {
+            snapshotWriter.close();
+            snapshotWriter = null;
+        }
+    }
+
+    /**
+     * Registers a newly issued token.
+     *
+     * @param token the issued token
+     */
+    public void register(IssuedToken token) {
+        if (!token.expiresAt().isAfter(Instant.now())) {
+            return;
+        }
+        put(token);
+        append(issuedLine(token));
+    }
+
+    /**
+     * Looks up an unexpired, unrevoked token issued or restored by this registry.
+     *
+     * @param jti the token id
+     * @return the issued token, or empty if it is unknown, expired or revoked
+     */
+    public Optional<IssuedToken> find(String jti) {
+        return Optional.ofNullable(tokens.getIfPresent(jti));
+    }
+
+    /**
+     * Tells whether an unexpired token has been revoked. Unknown tokens are not revoked.
+     *
+     * @param jti the token id
+     * @return true if the token was revoked and has not expired yet
+     */
+    public boolean isRevoked(String jti) {
+        return revokedTokens.getIfPresent(jti) != null;
+    }
+
+    /**
+     * Returns the unexpired, unrevoked tokens issued to the user.
+     *
+     * @param userId the id of the user
+     * @return the user's tokens
+     */
+    public List<IssuedToken> tokensOf(UUID userId) {
+        return tokensByUser.getOrDefault(userId, Set.of()).stream()
+                .map(tokens::getIfPresent)
+                .filter(token -> token != null)
+                .toList();
+    }
+
+    /**
+     * Revokes a single token.
+     *
+     * @param jti the token id
+     */
+    public void revoke(String jti) {
+        if (moveToRevoked(jti)) {
+            append(String.join("\t", REVOKED, jti));
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user.
+     *
+     * @param userId the id of the user
+     * @return the number of tokens revoked
+     */
+    public int revokeAll(UUID userId) {
+        Set<String> jtis = tokensByUser.get(userId);
+        if (jtis == null) {
+            return 0;
+        }
+        int revoked = 0;
+        for (String jti : List.copyOf(jtis)) {
+            if (moveToRevoked(jti)) {
+                append(String.join("\t", REVOKED, jti));
+                revoked++;
+            }
+        }
+        return revoked;
+    }
+
+    private void put(IssuedToken token) {
+        if (token.userId() != null) {
+            tokensByUser.computeIfAbsent(token.userId(), id -> ConcurrentHashMap.newKeySet()).add(token.jti());
+        }
+        tokens.put(token.jti(), token);
+    }
+
+    private boolean moveToRevoked(String jti) {
+        IssuedToken token = tokens.asMap().remove(jti);
+        if (token == null) {
+            return false;
+        }
+        revokedTokens.put(jti, token);
+        return true;
+    }
+
+    private void unindex(IssuedToken token) {
+        if (token.userId() == null) {
+            return;
+        }
+        tokensByUser.computeIfPresent(token.userId(), (id, jtis) -> {
+            jtis.remove(token.jti());
+            return jtis.isEmpty() ? null : jtis;
+        });
+    }
+
+    private void append(String line) {
+        if (snapshotFile != null) {
+            pendingLines.add(line);
+        }
+    }
+
+    private static String issuedLine(IssuedToken token) {
+        return String.join("\t", ISSUED, token.jti(), String.valueOf(token.userId()), token.subject(),
+                String.valueOf(token.issuedAt().toEpochMilli()), String.valueOf(token.expiresAt().toEpochMilli()));
+    }
+
+    private void replay(String line) {
+        String[] fields = line.split("\t");
+        try {
+            if (ISSUED.equals(fields[0]) && fields.length == 6) {
+                IssuedToken token = new IssuedToken(
+                        fields[1],
+                        "null".equals(fields[2]) ? null : UUID.fromString(fields[2]),
+                        fields[3],
+                        Instant.ofEpochMilli(Long.parseLong(fields[4])),
+                        Instant.ofEpochMilli(Long.parseLong(fields[5])));
+                if (token.expiresAt().isAfter(Instant.now())) {
+                    put(token);
+                }
+            } else if (REVOKED.equals(fields[0]) && fields.length == 2) {
+                moveToRevoked(fields[1]);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping malformed token snapshot line: {}", line);
+        }
+    }
+
+    /**
+     * Rewrites the snapshot file with only the unexpired tokens and revocations, so it does not
+     * grow without bound.
+     */
+    private void compact() throws IOException {
+        Path compacted = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (IssuedToken token : tokens.asMap().values()) {
+                writer.write(issuedLine(token));
+                writer.newLine();
+            }
+            for (IssuedToken token : revokedTokens.asMap().values()) {
+                writer.write(issuedLine(token));
+                writer.newLine();
+                writer.write(String.join("\t", REVOKED, token.jti()));
+                writer.newLine();
+            }
+        }
+        Files.move(compacted, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * A token issued by JwtService.
+     *
+     * @param jti the unique token id carried in the "jti" claim
+     * @param userId the id of the user the token was issued to
+     * @param subject the token subject (the user's email)
+     * @param issuedAt when the token was issued
+     * @param expiresAt when the token expires
+     */
+    public record IssuedToken(String jti, UUID userId, String subject, Instant issuedAt, Instant expiresAt) {}
+
+    /**
+     * Expires each entry at the expiration instant of its token.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<String, IssuedToken> {
+
+        @Override
+        public long expireAfterCreate(String jti, IssuedToken token, long currentTime) {
+            long remainingMillis = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String jti, IssuedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String jti, IssuedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.config.security;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * TokenRegistryProperties holds configuration for the registry of issued tokens.
+ *
+ * These properties are loaded using the prefix "spring.application.security.jwt.registry".
+ *
+ * Example configuration:
+ * spring.application.security.jwt.registry.snapshot-file=data/tokens.log
+ * spring.application.security.jwt.registry.flush-interval=1s
+ *
+ * The registry is bounded by token expiry only, so no entry is evicted before its token expires.
+ *
+ * @param snapshotFile an append-only file the registry is persisted to and restored from on startup;
+ *                     when not set the registry lives in memory only: tokens issued before a restart
+ *                     are still accepted, but revocations made before it are forgotten
+ * @param flushInterval how often buffered registrations and revocations are written to the snapshot
+ *                      file; entries buffered when the process dies are lost
+ */
+@ConfigurationProperties(prefix = "spring.application.security.jwt.registry")
+public record TokenRegistryProperties(
+        Path snapshotFile,
+        @DefaultValue("1s") Duration flushInterval
+) {}
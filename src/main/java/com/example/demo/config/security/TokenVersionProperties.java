@@ -0,0 +1,30 @@
+package com.example.demo.config.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * TokenVersionProperties configures how the minimum token versions of stateless mode are
+ * persisted and cached.
+ *
+ * These properties are loaded using the prefix "spring.application.security.jwt.stateless.versions".
+ *
+ * Example configuration:
+ * spring.application.security.jwt.stateless.versions.cache-ttl=1m
+ * spring.application.security.jwt.stateless.versions.cache-maximum-size=100000
+ * spring.application.security.jwt.stateless.versions.flush-interval=1s
+ *
+ * @param cacheTtl how long a version read from the users table is trusted; a bump made by another
+ *                 instance is seen here at the latest after this long
+ * @param cacheMaximumSize the maximum number of users whose version is cached
+ * @param flushInterval how often version bumps are written to the users table; bumps not yet
+ *                      written when the process dies are lost
+ */
+@ConfigurationProperties(prefix = "spring.application.security.jwt.stateless.versions")
+public record TokenVersionProperties(
+        @DefaultValue("1m") Duration cacheTtl,
+        @DefaultValue("100000") long cacheMaximumSize,
+        @DefaultValue("1s") Duration flushInterval
+) {}
@@ -0,0 +1,153 @@
+package com.example.demo.config.security;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * TokenVersionRegistry keeps the minimum token version accepted for each user.
+ *
+ * Tokens issued in stateless mode carry the version that was current when they were signed.
+ * Bumping a user's version revokes every token issued before it. Users that were never bumped
+ * are at version 0.
+ *
+ * In stateless mode the versions are persisted in the token_version column of the users table,
+ * so revocations survive restarts and reach the other instances. Bumps are applied in memory at
+ * once and written in batches every flush interval, and once more on shutdown; the column only
+ * moves forwards. A user's version is read from the table on first use and cached for the
+ * configured TTL, so authenticating a request costs at most one primary-key lookup per user and
+ * TTL. A bump made by another instance is therefore honoured here within the TTL plus that
+ * instance's flush interval; until then revocation is per instance.
+ *
+ * Outside stateless mode the versions are not used to authenticate and live in memory only.
+ */
+@Slf4j
+@Component
+public class TokenVersionRegistry implements SchedulingConfigurer {
+
+    static final String SELECT_SQL = "SELECT token_version FROM users WHERE id = ?";
+    static final String UPDATE_SQL = "UPDATE users SET token_version = ? WHERE id = ? AND token_version < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration flushInterval;
+    private final Cache<UUID, Integer> versions;
+    private final Map<UUID, Integer> pending = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(JdbcTemplate jdbcTemplate,
+                                StatelessAuthProperties statelessAuthProperties,
+                                TokenVersionProperties properties) {
+        this.jdbcTemplate = statelessAuthProperties.enabled() ? jdbcTemplate : null;
+        this.flushInterval = properties.flushInterval();
+        // Without the table as the source of truth, evicting a version would forget a revocation.
+        this.versions = this.jdbcTemplate == null
+                ? Caffeine.newBuilder().build()
+                : Caffeine.newBuilder()
+                        .expireAfterWrite(properties.cacheTtl())
+                        .maximumSize(properties.cacheMaximumSize())
+                        .build();
+    }
+
+    /**
+     * Creates a registry that keeps the versions in memory only.
+     */
+    static TokenVersionRegistry inMemory() {
+        return new TokenVersionRegistry(null, new StatelessAuthProperties(false),
+                new TokenVersionProperties(Duration.ofMinutes(1), 100_000, Duration.ofSeconds(1)));
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (jdbcTemplate != null) {
+            registrar.addFixedDelayTask(this::flush, flushInterval);
+        }
+    }
+
+    /**
+     * Returns the version that newly issued tokens for the user must carry.
+     *
+     * @param userId the id of the user
+     * @return the current minimum accepted version
+     */
+    public int current(UUID userId) {
+        return versions.get(userId, this::load);
+    }
+
+    /**
+     * Increments the user's minimum version, revoking all tokens issued before this call.
+     *
+     * @param userId the id of the user
+     * @return the new minimum accepted version
+     */
+    public int bump(UUID userId) {
+        int bumped = versions.asMap().compute(userId, (id, version) -> (version == null ? load(id) : version) + 1);
+        if (jdbcTemplate != null) {
+            pending.merge(userId, bumped, Math::max);
+        }
+        return bumped;
+    }
+
+    /**
+     * Checks whether a token carrying the given version is still accepted for the user.
+     *
+     * @param userId the id of the user
+     * @param version the version carried by the token
+     * @return true if the token has not been revoked by a version bump
+     */
+    public boolean isCurrent(UUID userId, int version) {
+        return version >= current(userId);
+    }
+
+    /**
+     * Writes the buffered version bumps to the users table.
+     *
+     * @return the number of bumps taken from the buffer
+     */
+    @PreDestroy
+    public synchronized int flush() {
+        if (jdbcTemplate == null || pending.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> args = new ArrayList<>(pending.size());
+        for (UUID userId : pending.keySet()) {
+            Integer version = pending.remove(userId);
+            if (version != null) {
+                args.add(new Object[]{version, userId, version});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        } catch (DataAccessException e) {
+            log.warn("Failed to write {} token version bumps, retrying on next flush", args.size(), e);
+            args.forEach(arg -> pending.merge((UUID) arg[1], (Integer) arg[0], Math::max));
+        }
+        return args.size();
+    }
+
+    /**
+     * Reads the persisted version of a user, never below a bump that is still waiting to be written.
+     */
+    private int load(UUID userId) {
+        int buffered = pending.getOrDefault(userId, 0);
+        if (jdbcTemplate == null) {
+            return buffered;
+        }
+        List<Integer> stored = jdbcTemplate.queryForList(SELECT_SQL, Integer.class, userId);
+        return stored.isEmpty() || stored.get(0) == null ? buffered : Math.max(stored.get(0), buffered);
+    }
+}
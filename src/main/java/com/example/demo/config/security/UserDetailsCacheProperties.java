@@ -0,0 +1,27 @@
+package com.example.demo.config.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * UserDetailsCacheProperties holds configuration for the cache of authenticated principals.
+ *
+ * These properties are loaded using the prefix "spring.application.security.user-cache".
+ *
+ * Example configuration:
+ * spring.application.security.user-cache.enabled=true
+ * spring.application.security.user-cache.ttl=5m
+ * spring.application.security.user-cache.maximum-size=10000
+ *
+ * @param enabled whether loaded principals are cached between requests
+ * @param ttl how long a principal is kept after it was loaded
+ * @param maximumSize the maximum number of principals kept in the cache
+ */
+@ConfigurationProperties(prefix = "spring.application.security.user-cache")
+public record UserDetailsCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("10000") long maximumSize
+) {}
@@ -0,0 +1,119 @@
+package com.example.demo.config.security;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.jsonwebtoken.Claims;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * VerifiedTokenCache keeps the claims of JWTs whose signature has already been verified,
+ * so repeated requests carrying the same bearer token skip signature checks and JSON parsing.
+ *
+ * Entries are keyed by the SHA-256 digest of the token together with the generation of the
+ * signing key that verified it, bounded by a configurable size with Caffeine's W-TinyLFU
+ * eviction, and expire exactly at the token's "exp" claim. Once the secret is rotated, lookups
+ * use the new generation, so tokens verified under the previous key are verified again and no
+ * longer authenticate.
+ * Hit and miss counters are published through Micrometer as "jwt.verified-tokens".
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final Cache<Key, Claims> cache;
+
+    public VerifiedTokenCache(TokenCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Returns the verified claims of the given token, invoking the verifier only on a cache miss.
+     *
+     * Exceptions thrown by the verifier (expired, malformed or badly signed tokens) propagate
+     * to the caller and nothing is cached for that token.
+     *
+     * @param token the compact JWT
+     * @param keyGeneration the generation of the signing key the verifier uses (see JwtService.keyGeneration)
+     * @param verifier the function that verifies the signature and parses the claims
+     * @return the verified claims
+     */
+    public Claims get(String token, long keyGeneration, Function<String, Claims> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return cache.get(new Key(digest(token), keyGeneration), key -> verifier.apply(token));
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Cache key: the token digest and the signing key generation it was verified under.
+     */
+    private record Key(ByteBuffer digest, long keyGeneration) {}
+
+    /**
+     * Expires each entry at the expiration instant carried by its own claims.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<Key, Claims> {
+
+        @Override
+        public long expireAfterCreate(Key key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
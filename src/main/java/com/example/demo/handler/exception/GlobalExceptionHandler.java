@@ -1,14 +1,21 @@
 package com.example.demo.handler.exception;
 
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
 
+import lombok.RequiredArgsConstructor;
+
+import com.example.demo.config.async.UserExecutorProperties;
 import com.example.demo.user.dto.response.ErrorResponse;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * GlobalExceptionHandler handles exceptions thrown by controllers across the application.
  *
@@ -17,8 +24,11 @@ import com.example.demo.user.dto.response.ErrorResponse;
  */
 @io.swagger.v3.oas.annotations.Hidden
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final UserExecutorProperties userExecutorProperties;
+
     /**
      * Handles validation errors triggered by @Valid on controller method arguments.
      *
@@ -52,4 +62,21 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
         return ResponseEntity.status(ex.getStatusCode()).body(new ErrorResponse(ex.getReason()));
     }
+
+    /**
+     * Handles RejectedExecutionException thrown when the user executor is saturated.
+     *
+     * It returns HTTP status 503 (Service Unavailable) with a Retry-After header so clients
+     * back off instead of retrying immediately.
+     *
+     * @param ex the RejectedExecutionException raised by the executor
+     * @return a ResponseEntity containing an ErrorResponse and the Retry-After header
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+        long retryAfterSeconds = Math.max(1, userExecutorProperties.retryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(new ErrorResponse("Server is busy, please retry later"));
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.demo.user.controller;
 
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -10,9 +11,10 @@ import lombok.RequiredArgsConstructor;
 
 import com.example.demo.user.service.UserService;
 import com.example.demo.auth.dto.request.UpdateUserRequest;
-import com.example.demo.user.entity.User;
+import com.example.demo.user.dto.response.UserResponse;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * UserCommandController handles command operations (such as update and delete)
@@ -39,19 +41,56 @@ public class UserCommandController {
      *
      * Parameters:
      * - id: the UUID of the user to be updated, extracted from the URL path
+     * - ifMatch: the optional If-Match header; when present the update only applies to the
+     *   representation with that ETag
      * - request: the UpdateUserRequest object containing updated user details, validated automatically
      *
      * Returns:
-     * A ResponseEntity containing the updated User object and HTTP status 201 (Created)
+     * A future of a ResponseEntity containing a UserResponse describing the updated user, its new ETag
+     * and HTTP status 200 (OK), completed on the user executor
      *
      * Throws:
      * - ResponseStatusException with status 404 if the user is not found
+     * - ResponseStatusException with status 412 if If-Match does not match the current ETag
      * - MethodArgumentNotValidException if the request body fails validation
      */
     @PutMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
-    public ResponseEntity<User> update(
+    public CompletableFuture<ResponseEntity<UserResponse>> update(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateUserRequest request) {
-        return ResponseEntity.status(HttpStatus.OK).body(userService.update(request, id));
+        return userService.update(request, id, ifMatch)
+                .thenApply(user -> ResponseEntity.status(HttpStatus.OK).eTag(user.eTag()).body(user));
+    }
+
+    /**
+     * Partially updates an existing user with the given ID using the provided request data.
+     *
+     * Only the fields present in the request are changed; phones are diffed against the stored
+     * ones, so only the rows that differ are inserted, updated or deleted. It delegates the
+     * update operation to the UserService.
+     *
+     * Parameters:
+     * - id: the UUID of the user to be updated, extracted from the URL path
+     * - ifMatch: the optional If-Match header; when present the update only applies to the
+     *   representation with that ETag
+     * - request: the UpdateUserRequest object containing the fields to change, validated automatically
+     *
+     * Returns:
+     * A future of a ResponseEntity containing a UserResponse describing the updated user, its new ETag
+     * and HTTP status 200 (OK), completed on the user executor
+     *
+     * Throws:
+     * - ResponseStatusException with status 404 if the user is not found
+     * - ResponseStatusException with status 412 if If-Match does not match the current ETag
+     * - MethodArgumentNotValidException if the request body fails validation
+     */
+    @PatchMapping(value = "/{id}", consumes = "application/json", produces = "application/json")
+    public CompletableFuture<ResponseEntity<UserResponse>> patch(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateUserRequest request) {
+        return userService.patch(request, id, ifMatch)
+                .thenApply(user -> ResponseEntity.status(HttpStatus.OK).eTag(user.eTag()).body(user));
     }
 }
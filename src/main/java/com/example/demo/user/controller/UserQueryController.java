@@ -1,15 +1,26 @@
 package com.example.demo.user.controller;
 
-import com.example.demo.user.entity.User;
+import com.example.demo.user.dto.response.UserPageResponse;
+import com.example.demo.user.dto.response.UserResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import lombok.RequiredArgsConstructor;
 
+import com.example.demo.config.async.AsyncTimeoutConfig;
+import com.example.demo.user.service.UserExportProperties;
+import com.example.demo.user.service.UserExportService;
 import com.example.demo.user.service.UserService;
 
 import java.util.UUID;
@@ -26,17 +37,70 @@ import java.util.UUID;
 public class UserQueryController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserExportProperties userExportProperties;
+
+    /**
+     * Lists users ordered by creation time, one page at a time.
+     *
+     * Pages are addressed by an opaque cursor rather than an offset, so every page costs the same
+     * to read. Pass the nextCursor of a response to get the following page; it is null on the last one.
+     *
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size the page size, defaulting to and capped by spring.application.user.listing.*
+     * @param active only users with this active flag, omitted for all users
+     * @return ResponseEntity containing the UserPageResponse and HTTP status 200 OK
+     */
+    @GetMapping(produces = "application/json")
+    public ResponseEntity<UserPageResponse> listUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Boolean active) {
+        return ResponseEntity.status(HttpStatus.OK).body(userService.listUsers(cursor, size, active));
+    }
+
+    /**
+     * Streams every user, with their phones, as newline-delimited JSON.
+     *
+     * The body is written on an MVC async thread while the users are read from the database, so
+     * the response starts immediately and memory use does not depend on the number of users.
+     * The request may run for up to spring.application.user.export.timeout.
+     *
+     * @param request the current request, used to extend its async timeout
+     * @return ResponseEntity streaming one UserResponse per line and HTTP status 200 OK
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(HttpServletRequest request) {
+        request.setAttribute(AsyncTimeoutConfig.TIMEOUT_ATTRIBUTE, userExportProperties.timeout());
+        StreamingResponseBody body = userExportService::export;
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 
     /**
      * Retrieves a user by their unique identifier.
      *
-     * This endpoint responds with a RegisterUserResponse containing user data if found.
+     * This endpoint responds with a UserResponse containing user data if found. The user and
+     * its phones are read with one query and the password is never part of the response.
+     *
+     * The response carries a strong ETag. When the request has an If-None-Match header, the current
+     * ETag is first read with a single primary-key lookup of the user's version; if it is listed,
+     * the endpoint answers 304 Not Modified without loading or serializing the user. Requests
+     * without the header skip that lookup.
      *
      * @param id the UUID of the user to retrieve
-     * @return ResponseEntity containing the RegisterUserResponse and HTTP status 200 OK
+     * @param request the current request, used to evaluate If-None-Match
+     * @return ResponseEntity containing the UserResponse, its ETag and HTTP status 200 OK,
+     *         or null once a 304 Not Modified response has been prepared
      */
     @GetMapping(value = "/{id}", produces = "application/json")
-    public ResponseEntity<User> getUser(@PathVariable UUID id) {
-        return ResponseEntity.status(HttpStatus.OK).body(userService.getUserById(id));
+    public ResponseEntity<UserResponse> getUser(@PathVariable UUID id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(userService.getUserETag(id))) {
+            return null;
+        }
+        UserResponse user = userService.getUserById(id);
+        return ResponseEntity.status(HttpStatus.OK).eTag(user.eTag()).body(user);
     }
 }
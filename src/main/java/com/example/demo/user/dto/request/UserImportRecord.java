@@ -0,0 +1,52 @@
+package com.example.demo.user.dto.request;
+
+import java.util.List;
+
+import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.auth.dto.request.PhoneDto;
+
+/**
+ * UserImportRecord represents one user read from a bulk import file.
+ *
+ * Exactly one of password and passwordHash is expected. A plaintext password is hashed with the
+ * configured algorithm during the import. A passwordHash from the legacy system is stored as-is;
+ * it must be in a format the password encoder can verify (an {id}-prefixed hash or a bare BCrypt
+ * hash) and is re-hashed with the current algorithm on the user's first login.
+ *
+ * Fields:
+ * - name: the full name of the user
+ * - email: the email address of the user
+ * - password: the plaintext password, or null
+ * - passwordHash: the already hashed password, or null
+ * - phones: the user's phone numbers, may be null
+ *
+ * Example (NDJSON line):
+ * {"name":"Jane Doe","email":"jane.doe@example.com","passwordHash":"{bcrypt}$2a$10$...","phones":[{"number":"1234567","cityCode":"1","countryCode":"57"}]}
+ */
+public record UserImportRecord(
+        String name,
+        String email,
+        String password,
+        String passwordHash,
+        List<PhoneDto> phones
+) {
+
+    /**
+     * Tells whether the record carries an already hashed password.
+     *
+     * @return true if passwordHash is set
+     */
+    public boolean hashed() {
+        return passwordHash != null && !passwordHash.isBlank();
+    }
+
+    /**
+     * Converts the record into a registration request, so it is validated like any other
+     * registration. The request's password is the hash when the record is hashed.
+     *
+     * @return the equivalent CreateUserRequest
+     */
+    public CreateUserRequest toCreateUserRequest() {
+        return new CreateUserRequest(name, email, hashed() ? passwordHash : password, phones);
+    }
+}
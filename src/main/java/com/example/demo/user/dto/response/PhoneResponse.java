@@ -0,0 +1,22 @@
+package com.example.demo.user.dto.response;
+
+/**
+ * PhoneResponse represents a phone number as returned by the user endpoints.
+ *
+ * Fields:
+ * - number: the phone number
+ * - cityCode: the city dialing code
+ * - countryCode: the country dialing code
+ *
+ * Example:
+ * {
+ *   "number": "1234567",
+ *   "cityCode": "1",
+ *   "countryCode": "57"
+ * }
+ */
+public record PhoneResponse(
+        String number,
+        String cityCode,
+        String countryCode
+) {}
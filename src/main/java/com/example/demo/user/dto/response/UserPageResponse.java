@@ -0,0 +1,21 @@
+package com.example.demo.user.dto.response;
+
+import java.util.List;
+
+/**
+ * UserPageResponse is one page of the user listing.
+ *
+ * Fields:
+ * - users: the users of this page, ordered by creation time and id
+ * - nextCursor: opaque cursor to pass as "cursor" to fetch the next page, or null on the last page
+ *
+ * Example:
+ * {
+ *   "users": [{ "id": "0191b8d2-...", "name": "Jane Doe", ... }],
+ *   "nextCursor": "MjAyNC0wMS0wMVQxMjowMDowMHwwMTkxYjhkMi0..."
+ * }
+ */
+public record UserPageResponse(
+        List<UserResponse> users,
+        String nextCursor
+) {}
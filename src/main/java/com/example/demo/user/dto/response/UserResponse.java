@@ -0,0 +1,100 @@
+package com.example.demo.user.dto.response;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import com.example.demo.user.entity.User;
+
+/**
+ * UserResponse is the read model returned by the user endpoints.
+ *
+ * It is built from a User whose phones are already loaded, so serializing it never touches
+ * the persistence context. Credentials are not part of it.
+ *
+ * Fields:
+ * - id: the unique identifier of the user
+ * - name: the user's full name
+ * - email: the user's email address
+ * - phones: the user's phone numbers
+ * - created: the timestamp when the user was created
+ * - modified: the timestamp when the user was last modified
+ * - lastLogin: the timestamp of the user's last login
+ * - isActive: indicates whether the user account is active, serialized as "active"
+ * - version: the row version, not serialized; with modified it forms the ETag
+ *
+ * Example:
+ * {
+ *   "id": "123e4567-e89b-12d3-a456-426614174000",
+ *   "name": "Jane Doe",
+ *   "email": "jane.doe@example.com",
+ *   "phones": [{ "number": "1234567", "cityCode": "1", "countryCode": "57" }],
+ *   "created": "2024-01-01T12:00:00",
+ *   "modified": "2024-01-10T15:30:00",
+ *   "lastLogin": "2024-02-01T09:45:00",
+ *   "active": true
+ * }
+ */
+public record UserResponse(
+        UUID id,
+        String name,
+        String email,
+        List<PhoneResponse> phones,
+        LocalDateTime created,
+        LocalDateTime modified,
+        LocalDateTime lastLogin,
+        @JsonProperty("active") Boolean isActive,
+        @JsonIgnore Long version
+) {
+
+    /**
+     * Derives the strong entity tag of a user representation from its row version and
+     * modification time. Every change to the row increments the version, so equal tags mean
+     * byte-identical representations.
+     *
+     * @param version the row version
+     * @param modified the last modification timestamp
+     * @return the unquoted entity tag
+     */
+    public static String eTag(Long version, LocalDateTime modified) {
+        long micros = modified == null ? 0
+                : modified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + modified.getNano() / 1_000;
+        return version + "-" + Long.toHexString(micros);
+    }
+
+    /**
+     * @return the unquoted entity tag of this representation
+     */
+    public String eTag() {
+        return eTag(version, modified);
+    }
+
+    /**
+     * Builds the response from a user whose phones are initialized.
+     *
+     * @param user the user to describe
+     * @return the response
+     */
+    public static UserResponse from(User user) {
+        List<PhoneResponse> phones = user.getPhones() == null
+                ? List.of()
+                : user.getPhones().stream()
+                        .map(phone -> new PhoneResponse(phone.getNumber(), phone.getCityCode(), phone.getCountryCode()))
+                        .toList();
+        return new UserResponse(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                phones,
+                user.getCreated(),
+                user.getModified(),
+                user.getLastLogin(),
+                user.isActive(),
+                user.getVersion()
+        );
+    }
+}
@@ -3,36 +3,52 @@ package com.example.demo.user.entity;
 import java.util.UUID;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import com.example.demo.config.persistence.GeneratedUuid;
 
 /**
  * Phone represents a phone number entity associated with a user.
  *
  * This class is mapped to the "phones" table in the database.
  * It contains fields for the phone number and its related dialing codes.
+ * Phones are kept in the read-write second-level cache region "phones".
+ * Updates only write the columns that changed.
  *
  * Fields:
- * - id: the unique identifier for the phone entity, generated as a UUID
+ * - id: the unique identifier for the phone entity, generated as a time-ordered UUID
  * - number: the phone number string
  * - cityCode: the city dialing code
  * - countryCode: the country dialing code
+ * - user: the owning user; its id is written as user_id in the same insert as the phone
  */
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "phones")
 @Table(name = "phones")
 @Data
 public class Phone {
 
     /**
      * The unique identifier of the phone entry.
-     * Generated automatically using UUID strategy.
+     * Generated automatically as a time-ordered UUIDv7 (see GeneratedUuid).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     /**
@@ -49,4 +65,16 @@ public class Phone {
      * The country dialing code.
      */
     private String countryCode;
+
+    /**
+     * The user this phone belongs to.
+     * Owns the user_id foreign key, so the key is part of the phone insert instead of a later update.
+     * Excluded from JSON, equals, hashCode and toString to avoid cycles with User.phones.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
 }
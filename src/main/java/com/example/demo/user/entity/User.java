@@ -1,6 +1,7 @@
 package com.example.demo.user.entity;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,18 +12,32 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Data;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.example.demo.config.persistence.GeneratedUuid;
+
 /**
  * User represents a user entity in the system.
  *
  * This class is mapped to the "users" table in the database.
  * It contains user-specific information such as identity, credentials,
- * associated phone numbers, timestamps, authentication token, and active status.
+ * associated phone numbers, timestamps, and active status. Issued tokens are kept in the
+ * TokenRegistry, not in this table.
+ *
+ * Users, their phones collection and the email natural id are kept in the read-write
+ * second-level cache regions "users", "user-phones" and "users-by-email".
+ * Updates only write the columns that changed.
  *
  * Fields:
- * - id: the unique identifier of the user, generated as a UUID
+ * - id: the unique identifier of the user, generated as a time-ordered UUID
  * - name: the user's full name
  * - email: the user's email address, unique in the database
  * - password: the user's password (typically hashed)
@@ -30,23 +45,39 @@ import org.hibernate.annotations.UpdateTimestamp;
  * - created: timestamp when the user record was created, set automatically
  * - modified: timestamp when the user record was last updated, set automatically
  * - lastLogin: timestamp of the user's last login
- * - token: JWT token associated with the user session
+ * - version: optimistic locking version, incremented on every update
  * - isActive: indicates if the user account is active (defaults to true)
+ * - tokenVersion: minimum version of the stateless tokens accepted for the user, owned by TokenVersionRegistry
  */
 @Entity
-@Table(name = "users")
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = User.LISTING_INDEX, columnList = "created, id"))
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
 
+    /**
+     * Name of the unique constraint on the email column, used to recognize duplicate registrations.
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    /**
+     * Name of the index on (created, id) that backs keyset pagination of the user listing.
+     */
+    public static final String LISTING_INDEX = "idx_users_created_id";
+
     /**
      * Unique identifier for the user.
-     * Generated automatically using UUID strategy.
+     * Generated automatically as a time-ordered UUIDv7 (see GeneratedUuid).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuid
     private UUID id;
 
     /**
@@ -55,9 +86,10 @@ public class User {
     private String name;
 
     /**
-     * Unique email address of the user.
+     * Unique email address of the user, enforced by the {@link #EMAIL_CONSTRAINT} constraint.
+     * It is the user's natural id and may be changed.
      */
-    @Column(unique = true)
+    @NaturalId(mutable = true)
     private String email;
 
     /**
@@ -67,10 +99,13 @@ public class User {
 
     /**
      * List of phone numbers associated with the user.
-     * Cascade type ALL and lazy fetching are applied.
+     * Cascade type ALL, orphan removal and lazy fetching are applied. The foreign key is owned by
+     * Phone.user, so each phone is inserted with its user_id and no follow-up UPDATE is needed.
+     * Uninitialized phone collections are loaded up to 100 users at a time.
      */
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-phones")
+    @BatchSize(size = 100)
     private List<Phone> phones;
 
     /**
@@ -93,9 +128,11 @@ public class User {
     private LocalDateTime lastLogin;
 
     /**
-     * JWT token associated with the user session.
+     * Version used for optimistic locking, incremented on every update of the row.
+     * Together with modified it identifies a representation of the user (see UserResponse.eTag).
      */
-    private String token;
+    @Version
+    private Long version;
 
     /**
      * Indicates whether the user account is active.
@@ -104,6 +141,45 @@ public class User {
     @Builder.Default
     private boolean isActive = true;
 
+    /**
+     * Minimum version carried by the stateless tokens accepted for the user.
+     * Only written by TokenVersionRegistry through JDBC, so entity updates never include it and
+     * the cached entity may lag behind the column; always read it through the registry.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false, updatable = false)
+    private int tokenVersion = 0;
+
+    /**
+     * Replaces the user's phones, linking each one back to this user.
+     *
+     * The managed collection is updated in place so orphan removal keeps tracking it.
+     *
+     * @param phones the new phones
+     */
+    public void setPhones(List<Phone> phones) {
+        List<Phone> replacement = phones == null ? List.of() : List.copyOf(phones);
+        if (this.phones == null) {
+            this.phones = new ArrayList<>();
+        } else {
+            this.phones.clear();
+        }
+        replacement.forEach(phone -> phone.setUser(this));
+        this.phones.addAll(replacement);
+    }
+
+    /**
+     * Links phones passed through the builder to this user before it is persisted,
+     * so they are inserted with their user_id.
+     */
+    @PrePersist
+    void linkPhones() {
+        if (phones != null) {
+            phones.forEach(phone -> phone.setUser(this));
+        }
+    }
+
     /**
      * Custom string representation of the User entity.
      * Includes id, name, email, timestamps, and active status.
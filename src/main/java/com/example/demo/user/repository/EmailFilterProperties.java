@@ -0,0 +1,30 @@
+package com.example.demo.user.repository;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * EmailFilterProperties holds configuration for the Bloom filter of registered emails.
+ *
+ * These properties are loaded using the prefix "spring.application.user.email-filter".
+ *
+ * Example configuration:
+ * spring.application.user.email-filter.enabled=true
+ * spring.application.user.email-filter.expected-users=100000
+ * spring.application.user.email-filter.false-positive-rate=0.01
+ * spring.application.user.email-filter.rebuild-interval=1h
+ *
+ * @param enabled whether unknown emails are answered from the filter instead of the database
+ * @param expectedUsers the number of users the filter is sized for; the actual user count is used when larger
+ * @param falsePositiveRate the target false-positive probability at the expected user count
+ * @param rebuildInterval how often the filter is rebuilt from the users table, dropping emails no longer in use
+ */
+@ConfigurationProperties(prefix = "spring.application.user.email-filter")
+public record EmailFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long expectedUsers,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("1h") Duration rebuildInterval
+) {}
@@ -0,0 +1,124 @@
+package com.example.demo.user.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.demo.user.entity.User;
+
+/**
+ * LastLoginBuffer coalesces the per-login updates of the "users" row into periodic JDBC batches.
+ *
+ * Each login records the user's last login time in a concurrent map keyed by user id, keeping
+ * only the latest login per user. The buffer is flushed every
+ * {@link LastLoginProperties#maxStaleness()} and once more on shutdown, so a burst of logins by
+ * the same user costs a single UPDATE. The update never moves last_login backwards, so a
+ * buffered login cannot overwrite a more recent write made through the entity. It increments
+ * the row version like an entity update would, so the user's ETag changes with its last login.
+ *
+ * Entries whose batch fails are put back and retried on the next flush. The batch bypasses
+ * Hibernate, so the written users are evicted from the second-level cache afterwards.
+ */
+@Slf4j
+@Component
+public class LastLoginBuffer implements SchedulingConfigurer {
+
+    static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ?, version = version + 1 WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LastLoginProperties properties;
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter flushed;
+
+    public LastLoginBuffer(JdbcTemplate jdbcTemplate,
+                           EntityManagerFactory entityManagerFactory,
+                           LastLoginProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = properties;
+        meterRegistry.gaugeMapSize("users.last-login.pending", List.of(), pending);
+        this.flushed = Counter.builder("users.last-login.flushed")
+                .description("Buffered logins written to the users table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers a login, replacing any older login of the same user that has not been flushed yet.
+     *
+     * @param userId the id of the user who logged in
+     * @param lastLogin the time of the login
+     */
+    public void record(UUID userId, LocalDateTime lastLogin) {
+        pending.merge(userId, lastLogin, LastLoginBuffer::latest);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::flush, properties.maxStaleness());
+    }
+
+    /**
+     * Writes every buffered login in batches of at most {@link LastLoginProperties#batchSize()} rows.
+     *
+     * @return the number of buffered logins taken from the buffer
+     */
+    @PreDestroy
+    public synchronized int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Map.Entry<UUID, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (UUID userId : pending.keySet()) {
+            LocalDateTime login = pending.remove(userId);
+            if (login != null) {
+                drained.add(Map.entry(userId, login));
+            }
+        }
+
+        int batchSize = Math.max(1, properties.batchSize());
+        for (int from = 0; from < drained.size(); from += batchSize) {
+            List<Map.Entry<UUID, LocalDateTime>> chunk = drained.subList(from, Math.min(from + batchSize, drained.size()));
+            List<Object[]> args = chunk.stream()
+                    .map(entry -> new Object[]{
+                            entry.getValue(),
+                            entry.getKey(),
+                            entry.getValue()
+                    })
+                    .toList();
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+                chunk.forEach(entry -> entityManagerFactory.getCache().evict(User.class, entry.getKey()));
+                flushed.increment(chunk.size());
+            } catch (DataAccessException e) {
+                log.warn("Failed to flush {} buffered logins, retrying on next flush", chunk.size(), e);
+                chunk.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginBuffer::latest));
+            }
+        }
+        return drained.size();
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate.isAfter(current) ? candidate : current;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.user.repository;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * LastLoginProperties holds configuration for the write-behind buffer of login updates.
+ *
+ * These properties are loaded using the prefix "spring.application.user.last-login".
+ *
+ * Example configuration:
+ * spring.application.user.last-login.max-staleness=5s
+ * spring.application.user.last-login.batch-size=500
+ *
+ * @param maxStaleness the longest a login may stay buffered before it is written, i.e. the flush interval
+ * @param batchSize the maximum number of rows sent in a single JDBC batch
+ */
+@ConfigurationProperties(prefix = "spring.application.user.last-login")
+public record LastLoginProperties(
+        @DefaultValue("5s") Duration maxStaleness,
+        @DefaultValue("500") int batchSize
+) {}
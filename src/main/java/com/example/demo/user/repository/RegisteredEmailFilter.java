@@ -0,0 +1,138 @@
+package com.example.demo.user.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RegisteredEmailFilter is an in-memory Bloom filter of the emails in the users table.
+ *
+ * A negative answer from {@link #mightContain(String)} is definite, so logins for unknown emails
+ * can be rejected and registrations of new emails can skip the duplicate lookup without touching
+ * the database. A positive answer may be a false positive and must be confirmed by a query.
+ *
+ * The filter is built by streaming the users table when the scheduler starts and rebuilt every
+ * {@link EmailFilterProperties#rebuildInterval()}, sized for the larger of the expected and the
+ * actual user count. Emails registered or changed in between are added by UserService. Until the
+ * first build completes, or when disabled, every email is reported as possibly present.
+ *
+ * The filter's expected false-positive probability and approximate size are published through
+ * Micrometer as "users.email-filter.fpp" and "users.email-filter.size".
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter implements SchedulingConfigurer {
+
+    static final String COUNT_SQL = "SELECT COUNT(*) FROM users";
+    static final String EMAILS_SQL = "SELECT email FROM users";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailFilterProperties properties;
+
+    private volatile BloomFilter<CharSequence> filter;
+    private volatile BloomFilter<CharSequence> rebuilding;
+
+    public RegisteredEmailFilter(JdbcTemplate jdbcTemplate, EmailFilterProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        Gauge.builder("users.email-filter.fpp", this, RegisteredEmailFilter::expectedFalsePositiveRate)
+                .description("Expected false-positive probability of the registered email filter")
+                .register(meterRegistry);
+        Gauge.builder("users.email-filter.size", this, f -> f.filter == null ? 0 : f.filter.approximateElementCount())
+                .description("Approximate number of emails in the registered email filter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.enabled()) {
+            registrar.addFixedDelayTask(this::rebuild, properties.rebuildInterval());
+        }
+    }
+
+    /**
+     * Checks whether the email may be registered.
+     *
+     * @param email the email to check
+     * @return false only if the email is definitely not registered
+     */
+    public boolean mightContain(String email) {
+        BloomFilter<CharSequence> current = filter;
+        return current == null || current.mightContain(email);
+    }
+
+    /**
+     * Adds a newly registered or changed email. Must be called after the change is committed.
+     *
+     * @param email the email to add
+     */
+    public void add(String email) {
+        // The filter being rebuilt is read first: if no rebuild is running yet, one started later
+        // streams the already committed email; if one just finished, its filter is the current one.
+        BloomFilter<CharSequence> next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+        BloomFilter<CharSequence> current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+    }
+
+    /**
+     * Returns the probability that {@link #mightContain(String)} answers true for an unregistered
+     * email, given the emails added so far.
+     *
+     * @return the expected false-positive probability, or 1 before the filter is built
+     */
+    public double expectedFalsePositiveRate() {
+        BloomFilter<CharSequence> current = filter;
+        return current == null ? 1.0 : current.expectedFpp();
+    }
+
+    /**
+     * Rebuilds the filter by streaming every email from the users table. Emails added while the
+     * rebuild is running go to both the current and the new filter. On failure the current
+     * filter is kept.
+     */
+    public synchronized void rebuild() {
+        try {
+            Long users = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            long expected = Math.max(properties.expectedUsers(), users == null ? 0 : users);
+            BloomFilter<CharSequence> next = BloomFilter.create(
+                    Funnels.stringFunnel(StandardCharsets.UTF_8), expected, properties.falsePositiveRate());
+            rebuilding = next;
+
+            RowCallbackHandler addEmail = rs -> next.put(rs.getString(1));
+            jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(EMAILS_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, addEmail);
+
+            filter = next;
+            log.info("Rebuilt registered email filter: {} users, expected false-positive rate {}",
+                    next.approximateElementCount(), next.expectedFpp());
+        } catch (DataAccessException e) {
+            log.warn("Failed to rebuild registered email filter, keeping the previous one", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
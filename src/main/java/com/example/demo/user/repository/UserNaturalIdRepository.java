@@ -0,0 +1,22 @@
+package com.example.demo.user.repository;
+
+import java.util.Optional;
+
+import com.example.demo.user.entity.User;
+
+/**
+ * UserNaturalIdRepository looks users up by their natural id, the email.
+ *
+ * Unlike a query on the email column, a natural-id load is answered from the second-level
+ * natural-id and entity caches when both hold the user, without touching the database.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Loads a User by email through the natural-id cache.
+     *
+     * @param email the email of the user to load
+     * @return an Optional containing the User if found, or empty if not
+     */
+    Optional<User> loadByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package com.example.demo.user.repository;
+
+import java.util.Optional;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+
+import com.example.demo.user.entity.User;
+
+/**
+ * Hibernate implementation of UserNaturalIdRepository, mixed into UserRepository by Spring Data.
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> loadByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
@@ -1,10 +1,28 @@
 package com.example.demo.user.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 
 import com.example.demo.user.entity.User;
 
@@ -14,17 +32,135 @@ import com.example.demo.user.entity.User;
  * This interface extends JpaRepository to leverage Spring Data JPA functionalities
  * including pagination, sorting, and basic CRUD methods.
  *
- * Additional method:
+ * Additional methods:
  * - findByEmail(String email): retrieves a User by their unique email address.
+ * - loadByEmail(String email): retrieves a User by email through the second-level natural-id cache.
+ * - findWithPhonesById(UUID id): retrieves a User together with its phones in a single query.
+ * - findVersionById(UUID id): reads only the version and modification time of a User.
+ * - findPageIds / findPageIdsAfter: keyset pagination over (created, id), optionally filtered by isActive.
+ * - findWithPhonesByIdIn(Collection ids): retrieves a page of Users together with their phones in a single query.
+ * - findWithPhonesInOrder(List ids): same as findWithPhonesByIdIn, in the order of the ids.
+ * - findExistingEmails(Collection emails): returns which of the given emails are already registered.
+ * - updatePassword(UUID id, String expectedPassword, String newPassword): replaces a password hash
+ *   only if it still matches the expected value.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
 
     /**
      * Finds a User entity by its email address.
+     * The result is kept in the query cache until the users table changes.
      *
      * @param email the email of the user to find
      * @return an Optional containing the User if found, or empty if not
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    /**
+     * Finds a User entity by its id, fetching its phones in the same query so the result
+     * can be used after the persistence context is closed.
+     *
+     * @param id the id of the user to find
+     * @return an Optional containing the User with initialized phones if found, or empty if not
+     */
+    @EntityGraph(attributePaths = "phones")
+    Optional<User> findWithPhonesById(UUID id);
+
+    /**
+     * Reads the version and modification time of a User by primary key, without loading the entity,
+     * so conditional requests can be answered without reading the user's phones.
+     *
+     * @param id the id of the user
+     * @return an Optional containing the UserVersion if the user exists, or empty if not
+     */
+    @Query("select new com.example.demo.user.repository.UserVersion(u.version, u.modified) from User u where u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Returns the ids of the first users ordered by creation time and id.
+     * The query is answered by the idx_users_created_id index.
+     *
+     * @param active only users with this active flag, or all users if null
+     * @param limit the page to read; only its size is used
+     * @return the ids of the first users in listing order
+     */
+    @Query("""
+            select u.id from User u
+            where (:active is null or u.isActive = :active)
+            order by u.created, u.id""")
+    List<UUID> findPageIds(@Param("active") Boolean active, Pageable limit);
+
+    /**
+     * Returns the ids of the users that follow the given (created, id) position, ordered by
+     * creation time and id. The predicate is written so that "created >= :created" bounds an
+     * index range scan on idx_users_created_id; rows before the position are never read, so
+     * the cost does not grow with the page number.
+     *
+     * @param created the creation timestamp of the last user of the previous page
+     * @param id the id of the last user of the previous page
+     * @param active only users with this active flag, or all users if null
+     * @param limit the page to read; only its size is used
+     * @return the ids of the following users in listing order
+     */
+    @Query("""
+            select u.id from User u
+            where u.created >= :created
+              and (u.created > :created or u.id > :id)
+              and (:active is null or u.isActive = :active)
+            order by u.created, u.id""")
+    List<UUID> findPageIdsAfter(@Param("created") LocalDateTime created,
+                                @Param("id") UUID id,
+                                @Param("active") Boolean active,
+                                Pageable limit);
+
+    /**
+     * Finds the Users with the given ids, fetching their phones in the same query.
+     *
+     * @param ids the ids of the users to find
+     * @return the found Users with initialized phones, in no particular order
+     */
+    @EntityGraph(attributePaths = "phones")
+    List<User> findWithPhonesByIdIn(Collection<UUID> ids);
+
+    /**
+     * Finds the Users of a page of ids read by findPageIds or findPageIdsAfter, fetching their phones
+     * in the same query, and returns them in the order of the ids. Users deleted since the ids were
+     * read are skipped.
+     *
+     * @param ids the ids of the users to find, in listing order
+     * @return the found Users with initialized phones, in the order of the ids
+     */
+    default List<User> findWithPhonesInOrder(List<UUID> ids) {
+        Map<UUID, User> usersById = findWithPhonesByIdIn(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Returns the subset of the given emails that are already registered, in a single query.
+     *
+     * @param emails the emails to check
+     * @return the registered emails
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Replaces the password hash of a user if the stored hash still equals the expected one.
+     *
+     * @param id the id of the user
+     * @param expectedPassword the hash that must currently be stored
+     * @param newPassword the new hash to store
+     * @return the number of updated rows, 0 if the hash was changed concurrently
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.id = :id and u.password = :expectedPassword")
+    int updatePassword(@Param("id") UUID id,
+                       @Param("expectedPassword") String expectedPassword,
+                       @Param("newPassword") String newPassword);
 }
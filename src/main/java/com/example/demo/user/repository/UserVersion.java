@@ -0,0 +1,12 @@
+package com.example.demo.user.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserVersion is the part of a user row that identifies its current representation.
+ *
+ * Fields:
+ * - version: the row version
+ * - modified: the last modification timestamp
+ */
+public record UserVersion(Long version, LocalDateTime modified) {}
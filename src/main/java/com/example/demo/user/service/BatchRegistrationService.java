@@ -0,0 +1,153 @@
+package com.example.demo.user.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.auth.dto.response.BatchRegisterUserResponse;
+import com.example.demo.auth.dto.response.RegisterUserResponse;
+import com.example.demo.config.security.JwtService;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.service.BulkRegistrationSupport.Rejection;
+import com.example.demo.user.service.BulkRegistrationSupport.Screening;
+
+/**
+ * BatchRegistrationService registers many users in one call, reporting a result per item.
+ *
+ * A batch is processed in three stages on the userExecutor:
+ * - Screening: items are validated and duplicate emails are rejected (see BulkRegistrationSupport).
+ * - Hashing: passwords of the remaining items are hashed in parallel, split into one task per
+ *   available processor.
+ * - Persisting: users and their phones are inserted in JDBC batches, falling back to one insert
+ *   per item if an email was taken concurrently (see BulkRegistrationSupport).
+ *
+ * A rejected item never fails the rest of the batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchRegistrationService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final Executor userExecutor;
+
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final BulkRegistrationSupport registrationSupport;
+
+    /**
+     * Registers every valid, non-duplicate user of the batch.
+     *
+     * @param requests the users to register; null entries stand for items that could not be parsed
+     * @return a future completed with one result per item, in submission order
+     * @throws ResponseStatusException with status 400 if the batch exceeds {@value #MAX_BATCH_SIZE} items
+     */
+    public CompletableFuture<List<BatchRegisterUserResponse>> create(List<CreateUserRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must not exceed " + MAX_BATCH_SIZE + " users");
+        }
+
+        BatchRegisterUserResponse[] results = new BatchRegisterUserResponse[requests.size()];
+        return CompletableFuture.supplyAsync(() -> screen(requests, results), userExecutor)
+                .thenCompose(accepted -> hashPasswords(requests, accepted))
+                .thenApplyAsync(hashes -> {
+                    persist(requests, hashes, results);
+                    return List.of(results);
+                }, userExecutor);
+    }
+
+    /**
+     * Rejects malformed, invalid and duplicate items.
+     *
+     * @return the indexes of the items left to register
+     */
+    private List<Integer> screen(List<CreateUserRequest> requests, BatchRegisterUserResponse[] results) {
+        Screening<Integer> screening = registrationSupport.screen(
+                IntStream.range(0, requests.size()).boxed().toList(),
+                i -> requests.get(i) == null ? "Malformed request" : registrationSupport.firstViolation(requests.get(i)),
+                i -> requests.get(i).email());
+        for (Rejection<Integer> rejection : screening.rejected()) {
+            results[rejection.item()] = BatchRegisterUserResponse.rejected(rejection.item(), rejection.reason());
+        }
+        return screening.accepted();
+    }
+
+    /**
+     * Hashes the passwords of the accepted items in parallel.
+     *
+     * @return a future completed with the hashes, indexed like the requests; rejected items are null
+     */
+    private CompletableFuture<String[]> hashPasswords(List<CreateUserRequest> requests, List<Integer> accepted) {
+        String[] hashes = new String[requests.size()];
+        int parallelism = Math.min(Runtime.getRuntime().availableProcessors(), accepted.size());
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[parallelism];
+        for (int task = 0; task < parallelism; task++) {
+            int first = task;
+            tasks[task] = CompletableFuture.runAsync(() -> {
+                for (int j = first; j < accepted.size(); j += parallelism) {
+                    int i = accepted.get(j);
+                    hashes[i] = passwordEncoder.encode(requests.get(i).password());
+                }
+            }, userExecutor);
+        }
+        return CompletableFuture.allOf(tasks).thenApply(done -> hashes);
+    }
+
+    /**
+     * Inserts the users whose password was hashed and records their results.
+     */
+    private void persist(List<CreateUserRequest> requests, String[] hashes, BatchRegisterUserResponse[] results) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != null) {
+                indexes.add(i);
+            }
+        }
+
+        List<User> saved = registrationSupport.insert(indexes.size(),
+                k -> toUser(requests.get(indexes.get(k)), hashes[indexes.get(k)], now));
+        for (int k = 0; k < saved.size(); k++) {
+            int i = indexes.get(k);
+            results[i] = saved.get(k) != null
+                    ? created(i, saved.get(k))
+                    : BatchRegisterUserResponse.rejected(i, BulkRegistrationSupport.EMAIL_ALREADY_REGISTERED);
+        }
+    }
+
+    private static User toUser(CreateUserRequest request, String encodedPassword, LocalDateTime now) {
+        return User.builder()
+                .name(request.name())
+                .email(request.email())
+                .password(encodedPassword)
+                .phones(UserService.getPhonesFromRequest(request.phones() == null ? List.of() : request.phones()))
+                .created(now)
+                .modified(now)
+                .lastLogin(now)
+                .build();
+    }
+
+    private BatchRegisterUserResponse created(int index, User user) {
+        return BatchRegisterUserResponse.created(index, new RegisterUserResponse(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                jwtService.generateToken(user),
+                user.getCreated(),
+                user.getModified(),
+                user.getLastLogin(),
+                user.isActive()
+        ));
+    }
+}
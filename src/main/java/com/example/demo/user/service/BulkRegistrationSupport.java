@@ -0,0 +1,172 @@
+package com.example.demo.user.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.RegisteredEmailFilter;
+import com.example.demo.user.repository.UserRepository;
+
+/**
+ * BulkRegistrationSupport holds the screening and inserting steps shared by batch registration
+ * (BatchRegistrationService) and the bulk import (UserImportService).
+ *
+ * - Screening rejects the items a caller-supplied check refuses and emails repeated among the
+ *   items, then checks the emails the RegisteredEmailFilter cannot rule out against the database
+ *   in a single query.
+ * - Inserting saves the users with saveAllAndFlush in one transaction, so Hibernate sends them as
+ *   JDBC batches. If a concurrent registration takes one of the emails in the meantime, the users
+ *   are rebuilt and inserted one by one to isolate the duplicate. Inserted emails are added to the
+ *   RegisteredEmailFilter.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkRegistrationSupport {
+
+    public static final String EMAIL_ALREADY_REGISTERED = "Email already registered";
+
+    private final UserRepository userRepository;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final Validator validator;
+
+    /**
+     * Splits the items into the ones left to register and the rejected ones.
+     *
+     * @param items the items to screen
+     * @param check returns the reason an item is rejected before its email is looked at, or null
+     * @param emailOf returns the email of an item that passed the check
+     * @return the accepted items in their original order, and the rejected ones with their reason
+     */
+    public <T> Screening<T> screen(List<T> items, Function<T, String> check, Function<T, String> emailOf) {
+        List<T> accepted = new ArrayList<>(items.size());
+        List<Rejection<T>> rejected = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Set<String> possiblyRegistered = new HashSet<>();
+
+        for (T item : items) {
+            String reason = check.apply(item);
+            if (reason != null) {
+                rejected.add(new Rejection<>(item, reason));
+                continue;
+            }
+            String email = emailOf.apply(item);
+            if (!seen.add(email)) {
+                rejected.add(new Rejection<>(item, EMAIL_ALREADY_REGISTERED));
+                continue;
+            }
+            if (registeredEmailFilter.mightContain(email)) {
+                possiblyRegistered.add(email);
+            }
+            accepted.add(item);
+        }
+
+        if (possiblyRegistered.isEmpty()) {
+            return new Screening<>(accepted, rejected);
+        }
+        Set<String> registered = new HashSet<>(userRepository.findExistingEmails(possiblyRegistered));
+        List<T> remaining = new ArrayList<>(accepted.size());
+        for (T item : accepted) {
+            if (registered.contains(emailOf.apply(item))) {
+                rejected.add(new Rejection<>(item, EMAIL_ALREADY_REGISTERED));
+            } else {
+                remaining.add(item);
+            }
+        }
+        return new Screening<>(remaining, rejected);
+    }
+
+    /**
+     * Returns the message of the first bean validation violation of a registration, by property path.
+     *
+     * @param request the registration to validate
+     * @return the violation message, or null if the request is valid
+     */
+    public String firstViolation(CreateUserRequest request) {
+        return validator.validate(request).stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Inserts users, falling back to one insert per user if an email was taken concurrently.
+     *
+     * @param count the number of users to insert
+     * @param newUser builds the i-th user; called again for the one-by-one fallback, since entities of a
+     *                failed flush cannot be saved again
+     * @return the saved users indexed like the input, null where the email was already registered
+     */
+    public List<User> insert(int count, IntFunction<User> newUser) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(newUser.apply(i));
+        }
+        if (users.isEmpty()) {
+            return users;
+        }
+
+        List<User> saved;
+        try {
+            saved = new ArrayList<>(userRepository.saveAllAndFlush(users));
+        } catch (DataIntegrityViolationException e) {
+            if (!UserService.isEmailConstraintViolation(e)) {
+                throw e;
+            }
+            log.debug("Bulk insert of {} users hit a concurrent duplicate email, inserting one by one", count);
+            saved = insertOneByOne(count, newUser);
+        }
+        saved.stream()
+                .filter(Objects::nonNull)
+                .forEach(user -> registeredEmailFilter.add(user.getEmail()));
+        return saved;
+    }
+
+    private List<User> insertOneByOne(int count, IntFunction<User> newUser) {
+        List<User> saved = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            try {
+                saved.add(userRepository.saveAndFlush(newUser.apply(i)));
+            } catch (DataIntegrityViolationException e) {
+                if (!UserService.isEmailConstraintViolation(e)) {
+                    throw e;
+                }
+                saved.add(null);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * The outcome of screening.
+     *
+     * @param accepted the items left to register, in their original order
+     * @param rejected the refused items with their reason
+     */
+    public record Screening<T>(List<T> accepted, List<Rejection<T>> rejected) {}
+
+    /**
+     * A refused item.
+     *
+     * @param item the item
+     * @param reason why it was refused
+     */
+    public record Rejection<T>(T item, String reason) {}
+}
@@ -0,0 +1,57 @@
+package com.example.demo.user.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Position of the last user of a listing page, used as the keyset for the next one.
+ *
+ * It is handed to clients as an opaque URL-safe Base64 string of "created|id". Both values
+ * are needed because creation timestamps are not unique; the id breaks ties.
+ *
+ * Fields:
+ * - created: the creation timestamp of the last user returned
+ * - id: the id of the last user returned
+ */
+record UserCursor(LocalDateTime created, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes the cursor into its opaque string form.
+     *
+     * @return the URL-safe cursor string
+     */
+    String encode() {
+        String raw = created.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously returned by {@link #encode()}.
+     *
+     * @param cursor the cursor string sent by the client
+     * @return the decoded cursor
+     * @throws ResponseStatusException with status 400 if the cursor is malformed
+     */
+    static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new UserCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
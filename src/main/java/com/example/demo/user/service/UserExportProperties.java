@@ -0,0 +1,24 @@
+package com.example.demo.user.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * UserExportProperties holds configuration for the streaming NDJSON export of users.
+ *
+ * These properties are loaded using the prefix "spring.application.user.export".
+ *
+ * Example configuration:
+ * spring.application.user.export.chunk-size=500
+ * spring.application.user.export.timeout=1h
+ *
+ * @param chunkSize the number of users read in one read-only transaction and written before the output is flushed
+ * @param timeout how long an export request may run before the asynchronous request times out
+ */
+@ConfigurationProperties(prefix = "spring.application.user.export")
+public record UserExportProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("1h") Duration timeout
+) {}
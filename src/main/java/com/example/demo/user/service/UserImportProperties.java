@@ -0,0 +1,32 @@
+package com.example.demo.user.service;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * UserImportProperties holds configuration for the bulk user import run at startup.
+ *
+ * These properties are loaded using the prefix "spring.application.user.import".
+ * The import only runs when a file is configured.
+ *
+ * Example configuration:
+ * spring.application.user.import.file=/data/legacy-users.csv
+ * spring.application.user.import.chunk-size=1000
+ * spring.application.user.import.parallelism=0
+ *
+ * @param file the CSV (.csv) or NDJSON (any other extension) file to import, or null to skip the import
+ * @param checkpointFile where progress is recorded after every committed chunk; defaults to the file name plus ".checkpoint"
+ * @param errorFile where rejected rows are reported; defaults to the file name plus ".errors"
+ * @param chunkSize the number of rows hashed and committed together
+ * @param parallelism the number of threads hashing passwords; 0 uses one per available processor
+ */
+@ConfigurationProperties(prefix = "spring.application.user.import")
+public record UserImportProperties(
+        Path file,
+        Path checkpointFile,
+        Path errorFile,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("0") int parallelism
+) {}
@@ -0,0 +1,35 @@
+package com.example.demo.user.service;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * UserImportRunner imports the file configured as spring.application.user.import.file at startup.
+ *
+ * It is only created when the property is set, for example:
+ * java -jar demo.jar --spring.application.user.import.file=/data/legacy-users.csv
+ *
+ * Runners are called after the embedded server has started, so requests are already served while
+ * the import runs and may not see every imported user yet. Spring Boot only publishes
+ * ReadinessState.ACCEPTING_TRAFFIC once all runners have returned, so the readiness probe
+ * (/actuator/health/readiness) reports the instance as not ready until the import has finished;
+ * route traffic on it rather than on the port being open. If the import fails, startup fails;
+ * starting again with the same file resumes from the last checkpoint.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.application.user.import", name = "file")
+@RequiredArgsConstructor
+public class UserImportRunner implements ApplicationRunner {
+
+    private final UserImportService userImportService;
+    private final UserImportProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        userImportService.importFile(properties.file());
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.demo.user.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.config.security.PasswordEncoderFactory;
+import com.example.demo.user.dto.request.UserImportRecord;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.service.BulkRegistrationSupport.Rejection;
+import com.example.demo.user.service.BulkRegistrationSupport.Screening;
+
+/**
+ * UserImportService bulk-loads users from a CSV or NDJSON file, such as an export of the legacy system.
+ *
+ * The file is read line by line through an NIO reader, so its size does not matter. Rows are
+ * processed in chunks of the configured size:
+ * - Screening: rows are parsed and validated like registrations, and duplicate emails are rejected
+ *   (see BulkRegistrationSupport).
+ * - Hashing: plaintext passwords are hashed in parallel on a ForkJoinPool with one thread per
+ *   available processor (or the configured parallelism). Legacy hashes are kept as they are and
+ *   upgraded on the user's first login.
+ * - Persisting: the chunk is inserted in JDBC batches, falling back to one insert per row if an
+ *   email was taken concurrently (see BulkRegistrationSupport).
+ *
+ * After each committed chunk the number of the last processed line is written atomically to the
+ * checkpoint file, and an import of the same file resumes after it. Rows of the chunk in flight
+ * when an import stops may be committed without a checkpoint; on resume they are reported as
+ * already registered. Rejected rows are appended to the error file, one per line, as their line
+ * number, email and reason separated by tabs (never with their password).
+ *
+ * Processed rows are counted by "users.import.rows", tagged with outcome imported or rejected.
+ *
+ * CSV files start with a header naming the columns name, email, password, passwordHash and phones.
+ * Values may be double-quoted; phones are written as "number:cityCode:countryCode" separated by ";".
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String MALFORMED_ROW = "Malformed row";
+    private static final String UNSUPPORTED_HASH = "Unsupported password hash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final BulkRegistrationSupport registrationSupport;
+    private final ObjectMapper objectMapper;
+    private final UserImportProperties properties;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public UserImportService(PasswordEncoder passwordEncoder,
+                             BulkRegistrationSupport registrationSupport,
+                             ObjectMapper objectMapper,
+                             UserImportProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.registrationSupport = registrationSupport;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.importedRows = rowCounter("imported", meterRegistry);
+        this.rejectedRows = rowCounter("rejected", meterRegistry);
+    }
+
+    private static Counter rowCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("users.import.rows")
+                .description("Rows processed by the bulk user import")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports the given file, resuming after its checkpoint if there is one.
+     *
+     * @param file the CSV (.csv) or NDJSON file to import
+     * @return the counts and throughput of this run
+     * @throws IOException if the file cannot be read or the checkpoint or error file cannot be written
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        Path checkpointFile = properties.checkpointFile() != null
+                ? properties.checkpointFile() : file.resolveSibling(file.getFileName() + ".checkpoint");
+        Path errorFile = properties.errorFile() != null
+                ? properties.errorFile() : file.resolveSibling(file.getFileName() + ".errors");
+        long resumeAfter = readCheckpoint(checkpointFile, file);
+        int parallelism = properties.parallelism() > 0
+                ? properties.parallelism() : Runtime.getRuntime().availableProcessors();
+
+        log.info("Importing users from {} after line {} with {} hashing threads", file, resumeAfter, parallelism);
+        long start = System.nanoTime();
+        long imported = 0;
+        long rejected = 0;
+        ForkJoinPool hashingPool = new ForkJoinPool(parallelism);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long lineNumber = 0;
+            CsvColumns csv = null;
+            if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+                csv = CsvColumns.of(reader.readLine());
+                lineNumber++;
+            }
+
+            List<Row> chunk = new ArrayList<>(properties.chunkSize());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter || line.isBlank()) {
+                    continue;
+                }
+                chunk.add(new Row(lineNumber, csv != null ? csv.parse(line) : parseJson(line)));
+                if (chunk.size() == properties.chunkSize()) {
+                    int committed = importChunk(chunk, hashingPool, errors);
+                    imported += committed;
+                    rejected += chunk.size() - committed;
+                    writeCheckpoint(checkpointFile, file, lineNumber);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int committed = importChunk(chunk, hashingPool, errors);
+                imported += committed;
+                rejected += chunk.size() - committed;
+            }
+            if (lineNumber > resumeAfter) {
+                writeCheckpoint(checkpointFile, file, lineNumber);
+            }
+        } finally {
+            hashingPool.shutdown();
+        }
+
+        ImportResult result = new ImportResult(imported, rejected, resumeAfter, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Imported {} users from {} in {} ms ({} rows/s), {} rows rejected (see {})",
+                result.imported(), file, result.elapsed().toMillis(), Math.round(result.rowsPerSecond()),
+                result.rejected(), errorFile);
+        return result;
+    }
+
+    /**
+     * Screens, hashes and persists one chunk, reporting its rejected rows.
+     *
+     * @return the number of imported rows
+     */
+    private int importChunk(List<Row> chunk, ForkJoinPool hashingPool, BufferedWriter errors) throws IOException {
+        Screening<Row> screening = registrationSupport.screen(chunk, this::check, row -> row.record().email());
+        for (Rejection<Row> rejection : screening.rejected()) {
+            reject(errors, rejection.item(), rejection.reason());
+        }
+        List<Row> accepted = screening.accepted();
+
+        String[] hashes = new String[accepted.size()];
+        hashingPool.submit(() -> IntStream.range(0, accepted.size()).parallel()
+                        .forEach(i -> hashes[i] = hash(accepted.get(i).record())))
+                .join();
+
+        List<User> saved = registrationSupport.insert(accepted.size(), i -> toUser(accepted.get(i).record(), hashes[i]));
+        int imported = 0;
+        for (int i = 0; i < saved.size(); i++) {
+            if (saved.get(i) != null) {
+                imported++;
+            } else {
+                reject(errors, accepted.get(i), BulkRegistrationSupport.EMAIL_ALREADY_REGISTERED);
+            }
+        }
+
+        errors.flush();
+        importedRows.increment(imported);
+        rejectedRows.increment(chunk.size() - imported);
+        return imported;
+    }
+
+    /**
+     * Returns the reason a row is rejected before its email is looked at, or null.
+     */
+    private String check(Row row) {
+        UserImportRecord record = row.record();
+        if (record == null) {
+            return MALFORMED_ROW;
+        }
+        String violation = registrationSupport.firstViolation(record.toCreateUserRequest());
+        if (violation != null) {
+            return violation;
+        }
+        if (record.hashed() && !PasswordEncoderFactory.isSupportedHash(record.passwordHash())) {
+            return UNSUPPORTED_HASH;
+        }
+        return null;
+    }
+
+    private String hash(UserImportRecord record) {
+        return record.hashed() ? record.passwordHash() : passwordEncoder.encode(record.password());
+    }
+
+    private static User toUser(UserImportRecord record, String encodedPassword) {
+        return User.builder()
+                .name(record.name())
+                .email(record.email())
+                .password(encodedPassword)
+                .phones(UserService.getPhonesFromRequest(record.phones() == null ? List.of() : record.phones()))
+                .build();
+    }
+
+    private static void reject(BufferedWriter errors, Row row, String reason) throws IOException {
+        String email = row.record() == null || row.record().email() == null ? "" : row.record().email();
+        errors.write(row.line() + "\t" + email + "\t" + reason);
+        errors.newLine();
+    }
+
+    private UserImportRecord parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, UserImportRecord.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the last processed line recorded for the file, or 0 if the file has no checkpoint.
+     * A checkpoint left by a different file is ignored.
+     */
+    private static long readCheckpoint(Path checkpointFile, Path file) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        List<String> lines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+        if (lines.size() < 2 || !lines.get(0).equals(file.toAbsolutePath().toString())) {
+            log.warn("Ignoring checkpoint {}, it does not belong to {}", checkpointFile, file);
+            return 0;
+        }
+        return Long.parseLong(lines.get(1).trim());
+    }
+
+    /**
+     * Records the last processed line. The checkpoint is written to a temporary file and moved into
+     * place, so a crash never leaves a partial checkpoint behind.
+     */
+    private static void writeCheckpoint(Path checkpointFile, Path file, long lineNumber) throws IOException {
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(temporary, file.toAbsolutePath() + "\n" + lineNumber + "\n", StandardCharsets.UTF_8);
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Outcome of one import run.
+     *
+     * Fields:
+     * - imported: the number of users inserted
+     * - rejected: the number of rows reported in the error file
+     * - resumedAfterLine: the checkpointed line the run started after, 0 for a fresh import
+     * - elapsed: the duration of the run
+     */
+    public record ImportResult(long imported, long rejected, long resumedAfterLine, Duration elapsed) {
+
+        /**
+         * @return the processed rows (imported and rejected) per second
+         */
+        public double rowsPerSecond() {
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+            return (imported + rejected) / seconds;
+        }
+    }
+
+    private record Row(long line, UserImportRecord record) {}
+
+    /**
+     * Positions of the columns named by a CSV header.
+     */
+    private record CsvColumns(Map<String, Integer> positions) {
+
+        static CsvColumns of(String header) {
+            List<String> names = header == null ? null : split(header);
+            if (names == null) {
+                throw new IllegalArgumentException("CSV import file has no valid header");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                positions.put(names.get(i).trim(), i);
+            }
+            return new CsvColumns(positions);
+        }
+
+        /**
+         * Parses a data line, or returns null if it is malformed.
+         */
+        UserImportRecord parse(String line) {
+            List<String> values = split(line);
+            if (values == null) {
+                return null;
+            }
+            List<PhoneDto> phones = new ArrayList<>();
+            String phoneList = value(values, "phones");
+            if (phoneList != null) {
+                for (String phone : phoneList.split(";")) {
+                    String[] parts = phone.split(":", -1);
+                    if (parts.length != 3) {
+                        return null;
+                    }
+                    phones.add(new PhoneDto(parts[0].trim(), parts[1].trim(), parts[2].trim()));
+                }
+            }
+            return new UserImportRecord(value(values, "name"), value(values, "email"),
+                    value(values, "password"), value(values, "passwordHash"), phones);
+        }
+
+        private String value(List<String> values, String column) {
+            Integer position = positions.get(column);
+            if (position == null || position >= values.size() || values.get(position).isEmpty()) {
+                return null;
+            }
+            return values.get(position);
+        }
+
+        /**
+         * Splits a line on commas outside double quotes; "" inside quotes is a literal quote.
+         * Returns null if a quoted value is not terminated.
+         */
+        private static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            values.add(value.toString());
+            return values;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.user.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * UserListingProperties holds configuration for the paginated user listing.
+ *
+ * These properties are loaded using the prefix "spring.application.user.listing".
+ *
+ * Example configuration:
+ * spring.application.user.listing.default-page-size=50
+ * spring.application.user.listing.max-page-size=500
+ *
+ * @param defaultPageSize the page size used when the request does not specify one
+ * @param maxPageSize the largest page size a request may ask for; larger values are capped
+ */
+@ConfigurationProperties(prefix = "spring.application.user.listing")
+public record UserListingProperties(
+        @DefaultValue("50") int defaultPageSize,
+        @DefaultValue("500") int maxPageSize
+) {}
@@ -1,16 +1,26 @@
 package com.example.demo.user.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -20,18 +30,29 @@ import lombok.RequiredArgsConstructor;
 import com.example.demo.auth.dto.request.CreateUserRequest;
 import com.example.demo.user.entity.Phone;
 import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.LastLoginBuffer;
+import com.example.demo.user.repository.RegisteredEmailFilter;
 import com.example.demo.user.repository.UserRepository;
 import com.example.demo.auth.dto.request.LoginRequest;
 import com.example.demo.auth.dto.request.PhoneDto;
 import com.example.demo.auth.dto.request.UpdateUserRequest;
+import com.example.demo.config.security.CachedUserDetailsService;
 import com.example.demo.config.security.JwtService;
+import com.example.demo.config.security.TokenRegistry;
+import com.example.demo.config.security.TokenVersionRegistry;
 import com.example.demo.auth.dto.response.RegisterUserResponse;
+import com.example.demo.user.dto.response.UserPageResponse;
+import com.example.demo.user.dto.response.UserResponse;
 
 /**
  * UserService handles business logic related to user management.
  *
  * It provides functionalities for creating users, retrieving user information,
  * and converting request data into entity models.
+ *
+ * Registration, login and update do blocking work (password hashing and database access), so each
+ * one is dispatched exactly once onto the bounded userExecutor and completes a CompletableFuture.
+ * Request threads are released as soon as the task is queued.
  */
 @Slf4j
 @Service
@@ -41,49 +62,61 @@ public class UserService {
     private final Executor userExecutor;
 
     private final UserRepository userRepository;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final RegisteredEmailFilter registeredEmailFilter;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final CachedUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRegistry tokenRegistry;
+    private final UserListingProperties userListingProperties;
 
     /**
      * Creates a new user based on the provided CreateUserRequest.
      *
-     * Validates that the email is not already registered,
-     * hashes the password, generates a JWT token, and persists the user.
+     * Hashes the password, inserts the user and issues a JWT token. The email is not looked up
+     * beforehand: the insert relies on the unique constraint on users.email, so duplicate
+     * registrations cost a single round trip and concurrent duplicates cannot both succeed.
+     * Only when the RegisteredEmailFilter reports the email as possibly registered is it looked
+     * up first, so an actual duplicate is rejected before paying for the password hash.
+     * The token is recorded in the TokenRegistry and returned in the response; it is not stored
+     * in the users table.
      *
      * @param request the user creation request containing user details
-     * @return a RegisterUserResponse representing the created user
-     * @throws ResponseStatusException if the email is already registered
+     * @return a future completed with a RegisterUserResponse representing the created user,
+     *         or completed exceptionally with a ResponseStatusException if the email is already registered
      */
-    @Async("userExecutor")
     public CompletableFuture<RegisterUserResponse> create(CreateUserRequest request) {
-        log.info("current thread: {}", Thread.currentThread().getName());
-
         return CompletableFuture.supplyAsync(() -> {
-            if (userRepository.findByEmail(request.email()).isPresent()) {
+            log.info("current thread: {}", Thread.currentThread().getName());
+
+            if (registeredEmailFilter.mightContain(request.email())
+                    && userRepository.loadByEmail(request.email()).isPresent()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
             }
 
             LocalDateTime now = LocalDateTime.now();
 
-            User user = User.builder()
+            String encodedPassword = passwordEncoder.encode(request.password());
+
+            // The token is signed once the user is persisted so it can carry the generated id.
+            User user = saveUnique(User.builder()
                     .name(request.name())
                     .email(request.email())
-                    .password(passwordEncoder.encode(request.password()))
+                    .password(encodedPassword)
                     .phones(getPhonesFromRequest(request.phones()))
                     .created(now)
                     .modified(now)
                     .lastLogin(now)
-                    .build();
-
-            user.setToken(jwtService.generateToken(user));
-
-            user = userRepository.save(user);
+                    .build());
+            registeredEmailFilter.add(user.getEmail());
+            String token = jwtService.generateToken(user);
 
             return new RegisterUserResponse(
                     user.getId(),
                     user.getName(),
                     user.getEmail(),
-                    user.getToken(),
+                    token,
                     user.getCreated(),
                     user.getModified(),
                     user.getLastLogin(),
@@ -95,82 +128,197 @@ public class UserService {
     /**
      * Updates an existing user based on the provided UpdateUserRequest.
      *
-     * Looks up the user by email. If found, updates the user's name, email, password, phone list,
-     * and modification timestamp, then persists the updated user entity to the database.
+     * Looks up the user by id. Name, email and password are applied when present; a password that
+     * still matches the stored hash is not re-hashed unless the hash needs an upgrade. A non-empty
+     * phone list is diffed against the stored phones (see mergePhones), and the active flag is
+     * replaced, an absent one deactivating the user. The last login timestamp is set as well.
+     * Only the columns and phone rows that actually changed are written.
+     * The cached principal is evicted under both the previous and the new email once the
+     * change is committed, so a renamed or deactivated user is never served from the cache.
+     * The user's token version is bumped, revoking previously issued stateless tokens, and its
+     * sessions are removed from the TokenRegistry.
+     *
+     * When an If-Match value is given, the update only proceeds if it matches the user's current
+     * ETag. The row version is checked again when the change is written, so an update that races
+     * with another one fails instead of overwriting it.
      *
      * Parameters:
      * - request: the UpdateUserRequest object containing the new user details
+     * - id: the id of the user to update
+     * - ifMatch: the If-Match header of the request, or null for an unconditional update
      *
      * Returns:
-     * The updated User entity
+     * A future completed with a UserResponse describing the updated user, or completed exceptionally with
+     * a ResponseStatusException with status 404 if no user with the given id is found,
+     * with status 400 if the new email is already registered, with status 412 if the If-Match
+     * value does not match the current ETag, or with status 409 if an unconditional update
+     * raced with another one
+     */
+    public CompletableFuture<UserResponse> update(UpdateUserRequest request, UUID id, String ifMatch) {
+        return CompletableFuture.supplyAsync(() -> UserResponse.from(updateUser(request, id, ifMatch, false)), userExecutor);
+    }
+
+    /**
+     * Partially updates an existing user based on the provided UpdateUserRequest.
      *
-     * Throws:
-     * - ResponseStatusException with status 404 if no user with the given email is found
+     * Works like update, except that absent fields leave the stored values untouched: a null
+     * active flag keeps the current one, a null phone list keeps the stored phones and an empty
+     * one removes them, and the last login timestamp is not changed. Tokens are only revoked when
+     * the email, password or active flag actually changed. A request that changes nothing writes
+     * nothing and keeps the user's ETag.
+     *
+     * Parameters:
+     * - request: the UpdateUserRequest object containing the fields to change
+     * - id: the id of the user to update
+     * - ifMatch: the If-Match header of the request, or null for an unconditional update
+     *
+     * Returns:
+     * A future completed with a UserResponse describing the updated user, or completed exceptionally
+     * with the same ResponseStatusExceptions as update
      */
-    public User update(UpdateUserRequest request, UUID id) {
-        User user = userRepository.findById(id)
+    public CompletableFuture<UserResponse> patch(UpdateUserRequest request, UUID id, String ifMatch) {
+        return CompletableFuture.supplyAsync(() -> UserResponse.from(updateUser(request, id, ifMatch, true)), userExecutor);
+    }
+
+    private User updateUser(UpdateUserRequest request, UUID id, String ifMatch, boolean partial) {
+        User user = userRepository.findWithPhonesById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        if (ifMatch != null && !matchesETag(ifMatch, UserResponse.eTag(user.getVersion(), user.getModified()))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "User was modified");
+        }
+        String previousEmail = user.getEmail();
+        boolean credentialsChanged = false;
 
-        user.setLastLogin(LocalDateTime.now());
+        if (!partial) {
+            user.setLastLogin(LocalDateTime.now());
+        }
 
         Optional.ofNullable(request.name())
                 .filter(name -> !name.isBlank())
                 .ifPresent(user::setName);
 
-        Optional.ofNullable(request.email())
-                .filter(email -> !email.isBlank())
-                .ifPresent(user::setEmail);
+        Optional<String> email = Optional.ofNullable(request.email())
+                .filter(value -> !value.isBlank() && !value.equals(previousEmail));
+        if (email.isPresent()) {
+            user.setEmail(email.get());
+            credentialsChanged = true;
+        }
 
-        Optional.ofNullable(request.password())
-                .filter(password -> !password.isBlank())
-                .ifPresent(password -> user.setPassword(passwordEncoder.encode(password)));
+        Optional<String> password = Optional.ofNullable(request.password())
+                .filter(value -> !value.isBlank());
+        if (password.isPresent()) {
+            credentialsChanged |= applyPassword(user, password.get());
+        }
 
         Optional.ofNullable(request.phones())
-                .filter(phones -> !phones.isEmpty())
-                .ifPresent(phones -> user.setPhones(getPhonesFromRequest(phones)));
+                .filter(phones -> partial || !phones.isEmpty())
+                .ifPresent(phones -> mergePhones(user, phones));
 
-        user.setActive(request.isActive());
+        boolean active = request.isActive() != null ? request.isActive() : partial && user.isActive();
+        if (active != user.isActive()) {
+            user.setActive(active);
+            credentialsChanged = true;
+        }
 
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = saveUnique(user);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw ifMatch != null
+                    ? new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "User was modified")
+                    : new ResponseStatusException(HttpStatus.CONFLICT, "User was modified concurrently");
+        }
+        registeredEmailFilter.add(saved.getEmail());
+        userDetailsService.evict(previousEmail, saved.getEmail());
+        if (!partial || credentialsChanged) {
+            tokenVersionRegistry.bump(saved.getId());
+            tokenRegistry.revokeAll(saved.getId());
+        }
+        return saved;
     }
 
+    /**
+     * Sets the user's password, skipping the hash when the password is unchanged.
+     *
+     * Checking the stored hash costs as much as computing a new one, but keeps the password
+     * column out of the UPDATE and the sessions of the user intact. A matching password is
+     * only re-hashed when the stored hash uses an outdated algorithm or cost.
+     *
+     * @return true if the password changed
+     */
+    private boolean applyPassword(User user, String password) {
+        String storedHash = user.getPassword();
+        if (passwordEncoder.matches(password, storedHash)) {
+            if (passwordEncoder.upgradeEncoding(storedHash)) {
+                user.setPassword(passwordEncoder.encode(password));
+            }
+            return false;
+        }
+        user.setPassword(passwordEncoder.encode(password));
+        return true;
+    }
 
     /**
      * Authenticates a user using the provided login credentials.
      *
-     * Verifies that the user exists by email, updates the last login timestamp,
-     * generates a new authentication token, and saves the updated user entity.
+     * Verifies that the user exists by email and that the password matches; emails the
+     * RegisteredEmailFilter knows are not registered are rejected without querying the database.
+     * Then revokes previously issued stateless tokens by bumping the user's token version,
+     * replaces the user's sessions in the TokenRegistry and issues a new authentication token.
+     * The login does not write to the users table on the request path: the token only lives in
+     * the TokenRegistry, and the last login timestamp is handed to the LastLoginBuffer, which
+     * coalesces logins per user and writes them in batches, so it may be up to the configured
+     * max staleness behind in the database.
+     * If the stored hash was produced with an outdated algorithm or cost, it is re-hashed
+     * in the background.
      *
      * Parameters:
      * - request: the LoginRequest object containing the user's login credentials
      *
      * Returns:
-     * A RegisterUserResponse containing user information and a new authentication token
-     *
-     * Throws:
+     * A future completed with a RegisterUserResponse containing user information and a new
+     * authentication token, or completed exceptionally with:
      * - ResponseStatusException with status 404 if the user is not found
+     * - ResponseStatusException with status 401 if the password does not match
      */
+    public CompletableFuture<RegisterUserResponse> login(LoginRequest request) {
+        return CompletableFuture.supplyAsync(() -> loginUser(request), userExecutor);
+    }
 
-    public RegisterUserResponse login(LoginRequest request) {
-        Optional<User> userOpt = userRepository.findByEmail(request.email());
+    private RegisterUserResponse loginUser(LoginRequest request) {
+        if (!registeredEmailFilter.mightContain(request.email())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+
+        Optional<User> userOpt = userRepository.loadByEmail(request.email());
         if (userOpt.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
 
         User user = userOpt.get();
+        String storedHash = user.getPassword();
+        if (!passwordEncoder.matches(request.password(), storedHash)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
+        }
 
         LocalDateTime now = LocalDateTime.now();
 
         user.setLastLogin(now);
-        user.setToken(jwtService.generateToken(user));
+        tokenVersionRegistry.bump(user.getId());
+        tokenRegistry.revokeAll(user.getId());
+        String token = jwtService.generateToken(user);
 
-        user = userRepository.save(user);
+        lastLoginBuffer.record(user.getId(), now);
+
+        if (passwordEncoder.upgradeEncoding(storedHash)) {
+            rehashInBackground(user, request.password(), storedHash);
+        }
 
         return new RegisterUserResponse(
                 user.getId(),
                 user.getName(),
                 user.getEmail(),
-                user.getToken(),
+                token,
                 user.getCreated(),
                 user.getModified(),
                 user.getLastLogin(),
@@ -178,18 +326,173 @@ public class UserService {
         );
     }
 
+    /**
+     * Re-hashes a verified password with the current encoder settings on the user executor.
+     *
+     * The new hash is only written if the stored hash is still the one that was verified, so a
+     * password changed in the meantime is never overwritten. If the executor is saturated the
+     * upgrade is skipped and retried on the next login.
+     *
+     * @param user the user whose password was verified
+     * @param rawPassword the verified plaintext password
+     * @param verifiedHash the outdated hash the password was verified against
+     */
+    private void rehashInBackground(User user, String rawPassword, String verifiedHash) {
+        UUID id = user.getId();
+        String email = user.getEmail();
+        try {
+            userExecutor.execute(() -> {
+                if (userRepository.updatePassword(id, verifiedHash, passwordEncoder.encode(rawPassword)) > 0) {
+                    userDetailsService.evict(email);
+                    log.debug("Upgraded password hash for user {}", id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped password hash upgrade for user {}: executor saturated", id);
+        }
+    }
+
+    /**
+     * Saves and flushes the user, translating a violation of the email unique constraint
+     * into a 400 "Email already registered" response.
+     *
+     * @param user the user to save
+     * @return the saved user
+     * @throws ResponseStatusException if another user already has the same email
+     */
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraintViolation(e)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already registered");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether the violation was raised by the email unique constraint. Databases report
+     * the constraint name in their own case and may decorate it, so the name is matched loosely.
+     */
+    static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+
+    /**
+     * Tells whether an If-Match header value matches the given ETag, using the strong comparison:
+     * "*" matches any existing user, weak tags never match.
+     *
+     * @param ifMatch the comma-separated list of entity tags from the header
+     * @param eTag the current unquoted ETag
+     * @return true if one of the listed tags is the current one
+     */
+    static boolean matchesETag(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")
+                    && tag.substring(1, tag.length() - 1).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the current ETag of a user from its version and modification time alone.
+     *
+     * It is a single primary-key lookup that reads neither the entity nor its phones, so a
+     * conditional GET whose representation has not changed is answered without loading the user.
+     *
+     * @param id the UUID of the user
+     * @return the unquoted ETag of the user's current representation
+     * @throws ResponseStatusException if the user is not found
+     */
+    public String getUserETag(UUID id) {
+        return userRepository.findVersionById(id)
+                .map(version -> UserResponse.eTag(version.version(), version.modified()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
     /**
      * Retrieves a user by their unique identifier.
      *
+     * The user and its phones are loaded with a single fetch-join query and mapped to a
+     * UserResponse before returning, so serializing the result never triggers lazy loading.
+     *
      * @param id the UUID of the user to retrieve
-     * @return a RegisterUserResponse representing the found user
+     * @return a UserResponse representing the found user
      * @throws ResponseStatusException if the user is not found
      */
-    public User getUserById(UUID id) {
-        return userRepository.findById(id)
+    public UserResponse getUserById(UUID id) {
+        return userRepository.findWithPhonesById(id)
+                .map(UserResponse::from)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
     }
 
+    /**
+     * Lists users ordered by creation time and id using keyset pagination.
+     *
+     * The page is read in two statements whatever its position: the ids of the next pageSize + 1
+     * users after the cursor, taken from the (created, id) index, and those users with their phones
+     * in one fetch-join query. Unlike OFFSET paging, earlier rows are never scanned, so page 10,000
+     * costs the same as page 1. The extra id only tells whether a next page exists.
+     *
+     * Parameters:
+     * - cursor: the nextCursor of the previous page, or null for the first page
+     * - size: the requested page size, or null for the configured default; capped at the configured maximum
+     * - active: only users with this active flag, or all users if null
+     *
+     * Returns:
+     * A UserPageResponse with the users of the page and the cursor of the next one
+     *
+     * Throws:
+     * - ResponseStatusException with status 400 if the size is not positive or the cursor is malformed
+     */
+    public UserPageResponse listUsers(String cursor, Integer size, Boolean active) {
+        int pageSize = size == null ? userListingProperties.defaultPageSize() : size;
+        if (pageSize < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be positive");
+        }
+        pageSize = Math.min(pageSize, userListingProperties.maxPageSize());
+
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<UUID> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = userRepository.findPageIds(active, limit);
+        } else {
+            UserCursor after = UserCursor.decode(cursor);
+            ids = userRepository.findPageIdsAfter(after.created(), after.id(), active, limit);
+        }
+
+        boolean hasNext = ids.size() > pageSize;
+        List<UUID> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new UserPageResponse(List.of(), null);
+        }
+
+        List<UserResponse> users = userRepository.findWithPhonesInOrder(pageIds).stream()
+                .map(UserResponse::from)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext && !users.isEmpty()) {
+            UserResponse last = users.get(users.size() - 1);
+            nextCursor = new UserCursor(last.created(), last.id()).encode();
+        }
+        return new UserPageResponse(users, nextCursor);
+    }
+
     /**
      * Converts the list of Phone DTOs from the CreateUserRequest
      * into a list of Phone entity objects.
@@ -197,15 +500,87 @@ public class UserService {
      * @param list of PhoneDto  the user creation request containing phone data
      * @return a list of Phone entities
      */
-    private List<Phone> getPhonesFromRequest(List<PhoneDto> phones) {
+    static List<Phone> getPhonesFromRequest(List<PhoneDto> phones) {
         return phones.stream()
-                .map(phoneRequest -> {
-                    Phone phone = new Phone();
-                    phone.setNumber(phoneRequest.number());
-                    phone.setCityCode(phoneRequest.cityCode());
-                    phone.setCountryCode(phoneRequest.countryCode());
-                    return phone;
-                })
+                .map(UserService::toPhone)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Brings the user's phones in line with the requested ones, touching as few rows as possible.
+     *
+     * Requested phones that are already stored are kept as they are. The remaining ones are
+     * written into the leftover stored rows, preferring a row with the same number, so a changed
+     * code or number becomes an UPDATE of that row. Requested phones left without a row are
+     * added and stored phones left without a requested one are removed. Duplicates are matched
+     * one row each.
+     *
+     * @param user   the user whose phones are updated, with its phones loaded
+     * @param phones the requested phones
+     */
+    static void mergePhones(User user, List<PhoneDto> phones) {
+        if (user.getPhones() == null) {
+            user.setPhones(getPhonesFromRequest(phones));
+            return;
+        }
+        List<Phone> stored = user.getPhones();
+        List<Phone> unmatched = new ArrayList<>(stored);
+        List<PhoneDto> missing = new ArrayList<>();
+        for (PhoneDto phone : phones) {
+            if (take(unmatched, candidate -> sameNumber(candidate, phone) && sameCodes(candidate, phone)) == null) {
+                missing.add(phone);
+            }
+        }
+        for (PhoneDto phone : missing) {
+            Phone row = take(unmatched, candidate -> sameNumber(candidate, phone));
+            if (row == null) {
+                row = take(unmatched, candidate -> true);
+            }
+            if (row == null) {
+                Phone added = toPhone(phone);
+                added.setUser(user);
+                stored.add(added);
+            } else {
+                row.setNumber(phone.number());
+                row.setCityCode(phone.cityCode());
+                row.setCountryCode(phone.countryCode());
+            }
+        }
+        stored.removeIf(phone -> unmatched.stream().anyMatch(removed -> removed == phone));
+    }
+
+    private static Phone take(List<Phone> phones, Predicate<Phone> condition) {
+        Iterator<Phone> iterator = phones.iterator();
+        while (iterator.hasNext()) {
+            Phone phone = iterator.next();
+            if (condition.test(phone)) {
+                iterator.remove();
+                return phone;
+            }
+        }
+        return null;
+    }
+
+    private static boolean sameNumber(Phone phone, PhoneDto request) {
+        return Objects.equals(phone.getNumber(), request.number());
+    }
+
+    private static boolean sameCodes(Phone phone, PhoneDto request) {
+        return Objects.equals(phone.getCityCode(), request.cityCode())
+                && Objects.equals(phone.getCountryCode(), request.countryCode());
+    }
+
+    /**
+     * Converts a Phone DTO into a new, unsaved Phone entity not yet linked to a user.
+     *
+     * @param request the requested phone
+     * @return the Phone entity
+     */
+    public static Phone toPhone(PhoneDto request) {
+        Phone phone = new Phone();
+        phone.setNumber(request.number());
+        phone.setCityCode(request.cityCode());
+        phone.setCountryCode(request.countryCode());
+        return phone;
+    }
 }
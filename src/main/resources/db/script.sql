@@ -4,15 +4,20 @@
 CREATE TABLE users (
     id UUID PRIMARY KEY,
     name VARCHAR(255),
-    email VARCHAR(255) UNIQUE NOT NULL,
+    email VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL,
     created TIMESTAMP NOT NULL,
     modified TIMESTAMP NOT NULL,
     last_login TIMESTAMP,
-    token VARCHAR(500),
-    is_active BOOLEAN NOT NULL DEFAULT TRUE
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    version BIGINT NOT NULL DEFAULT 0,
+    token_version INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_users_email UNIQUE (email)
 );
 
+-- Keyset pagination of the user listing
+CREATE INDEX idx_users_created_id ON users (created, id);
+
 -- Create the phones table
 CREATE TABLE phones (
     id UUID PRIMARY KEY,
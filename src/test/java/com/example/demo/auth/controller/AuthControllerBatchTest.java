@@ -0,0 +1,100 @@
+package com.example.demo.auth.controller;
+
+import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.user.service.BatchRegistrationService;
+import com.example.demo.user.service.UserService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that JSON array batches are read item by item, capped at the maximum batch size, and
+ * that an item that does not bind only rejects that item.
+ */
+class AuthControllerBatchTest {
+
+    private BatchRegistrationService batchRegistrationService;
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        batchRegistrationService = mock(BatchRegistrationService.class);
+        when(batchRegistrationService.create(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        authController = new AuthController(mock(UserService.class), batchRegistrationService, new ObjectMapper());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createBatch_jsonArray_passesEveryItem() throws Exception {
+        authController.createBatch(body(users(2))).join();
+
+        ArgumentCaptor<List<CreateUserRequest>> requests = ArgumentCaptor.forClass(List.class);
+        verify(batchRegistrationService).create(requests.capture());
+        assertThat(requests.getValue()).extracting(CreateUserRequest::email)
+                .containsExactly("user0@example.com", "user1@example.com");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createBatch_itemThatDoesNotBind_isPassedAsMalformedEntry() throws Exception {
+        String body = "[{\"name\":\"Bad\",\"email\":\"bad@example.com\",\"phones\":5},"
+                + users(1).substring(1);
+
+        authController.createBatch(body(body)).join();
+
+        ArgumentCaptor<List<CreateUserRequest>> requests = ArgumentCaptor.forClass(List.class);
+        verify(batchRegistrationService).create(requests.capture());
+        assertThat(requests.getValue()).hasSize(2);
+        assertThat(requests.getValue().get(0)).isNull();
+        assertThat(requests.getValue().get(1).email()).isEqualTo("user0@example.com");
+    }
+
+    @Test
+    void createBatch_oversizedArray_isRejectedBeforeRegistering() {
+        InputStream body = body(users(BatchRegistrationService.MAX_BATCH_SIZE + 1));
+
+        assertThatThrownBy(() -> authController.createBatch(body))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(batchRegistrationService);
+    }
+
+    @Test
+    void createBatch_bodyNotAnArray_isRejected() {
+        assertThatThrownBy(() -> authController.createBatch(body("{\"name\":\"x\"}")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("JSON array");
+        assertThatThrownBy(() -> authController.createBatch(body("[{\"name\":")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Malformed");
+        verifyNoInteractions(batchRegistrationService);
+    }
+
+    private static String users(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@example.com\","
+                        + "\"password\":\"secret123\",\"phones\":[]}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
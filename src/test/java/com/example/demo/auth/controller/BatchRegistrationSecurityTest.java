@@ -0,0 +1,76 @@
+package com.example.demo.auth.controller;
+
+import com.example.demo.config.security.JwtService;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks that batch registration, unlike the other authentication endpoints, needs a bearer token.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class BatchRegistrationSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void batch_withoutToken_isRejectedBeforeHashing() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/register/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch()))
+                .andReturn();
+
+        assertThat(result.getResponse().getStatus()).isIn(401, 403);
+        assertThat(result.getRequest().isAsyncStarted()).isFalse();
+    }
+
+    @Test
+    void batch_withToken_registersUsers() throws Exception {
+        User caller = userRepository.saveAndFlush(User.builder()
+                .name("Admin")
+                .email("admin-" + UUID.randomUUID() + "@example.com")
+                .password("hashedPassword")
+                .build());
+
+        MvcResult started = mockMvc.perform(post("/api/auth/register/batch")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(caller))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    private static String batch() {
+        return "[{\"name\":\"Batch\",\"email\":\"batch-" + UUID.randomUUID() + "@example.com\","
+                + "\"password\":\"secret123\",\"phones\":[]}]";
+    }
+}
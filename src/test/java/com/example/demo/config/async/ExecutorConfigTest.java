@@ -0,0 +1,72 @@
+package com.example.demo.config.async;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ExecutorConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void userExecutor_rejectPolicy_rejectsAndCounts() throws InterruptedException {
+        Executor executor = new ExecutorConfig().userExecutor(properties(UserExecutorProperties.RejectionPolicy.REJECT), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+
+            assertThatThrownBy(() -> executor.execute(() -> { }))
+                    .isInstanceOf(RejectedExecutionException.class);
+            assertThat(meterRegistry.counter("executor.user.rejected").count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+
+    @Test
+    void userExecutor_callerRunsPolicy_runsOnSubmittingThread() {
+        Executor executor = new ExecutorConfig().userExecutor(properties(UserExecutorProperties.RejectionPolicy.CALLER_RUNS), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> awaitQuietly(release));
+
+            Thread caller = Thread.currentThread();
+            Thread[] ranOn = new Thread[1];
+            executor.execute(() -> ranOn[0] = Thread.currentThread());
+
+            assertThat(ranOn[0]).isSameAs(caller);
+        } finally {
+            release.countDown();
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+
+    private static UserExecutorProperties properties(UserExecutorProperties.RejectionPolicy policy) {
+        return new UserExecutorProperties(
+                1, 1,
+                UserExecutorProperties.QueueType.SYNCHRONOUS, 0,
+                Duration.ofSeconds(60),
+                policy,
+                Duration.ofMillis(10),
+                Duration.ofSeconds(1)
+        );
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
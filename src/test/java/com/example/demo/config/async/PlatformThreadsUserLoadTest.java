@@ -0,0 +1,15 @@
+package com.example.demo.config.async;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the registration and login load against Tomcat and the userExecutor on platform threads.
+ */
+@ActiveProfiles("dev")
+class PlatformThreadsUserLoadTest extends UserLoadTest {
+
+    @Override
+    String threadMode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo.config.async;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * HTTP load test of registration and login, run against a real server on a random port.
+ *
+ * {@code load.clients} client threads start together and each registers and then logs in
+ * {@code load.users} / {@code load.clients} new users, so requests reach Tomcat, the JWT filter,
+ * the userExecutor and the database concurrently. Latency percentiles, throughput and the number
+ * of requests shed with 503 by a saturated userExecutor are logged per operation, so the platform
+ * and virtual thread modes can be compared on the same run:
+ * ./gradlew loadTest -PjavaVersion=21
+ *
+ * The test fails on any response other than the expected status or a 503, or if a user that was
+ * registered cannot log in.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class UserLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 64);
+    private static final int USERS = Integer.getInteger("load.users", 512);
+    private static final String PASSWORD = "secret123";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void registerAndLogin_underConcurrentLoad() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Stats register = new Stats("register");
+        Stats login = new Stats("login");
+        AtomicInteger loginsOfRegisteredUsersShed = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        long began;
+        try {
+            List<Future<?>> done = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                int first = c;
+                done.add(clients.submit(() -> {
+                    start.await();
+                    for (int i = first; i < USERS; i += CLIENTS) {
+                        String email = "load-" + run + "-" + i + "@example.com";
+                        if (register.send(post("/api/auth/register", registration(email)), 201) != 201) {
+                            continue;
+                        }
+                        if (login.send(post("/api/auth/login", credentials(email)), 201) == 503) {
+                            loginsOfRegisteredUsersShed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : done) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - began);
+
+        register.report(elapsed);
+        login.report(elapsed);
+        assertThat(register.unexpected).as("unexpected register responses").isEmpty();
+        assertThat(login.unexpected).as("unexpected login responses").isEmpty();
+        assertThat(register.succeeded()).as("registered users").isPositive();
+        assertThat(login.succeeded() + loginsOfRegisteredUsersShed.get())
+                .as("logins of registered users").isEqualTo(register.succeeded());
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String registration(String email) {
+        return "{\"name\":\"Load\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\","
+                + "\"phones\":[{\"number\":\"1234567\",\"cityCode\":\"1\",\"countryCode\":\"57\"}]}";
+    }
+
+    private static String credentials(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+    }
+
+    /**
+     * Latencies and outcomes of one operation.
+     */
+    private final class Stats {
+
+        private final String operation;
+        private final Queue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger shed = new AtomicInteger();
+        private final Queue<String> unexpected = new ConcurrentLinkedQueue<>();
+
+        private Stats(String operation) {
+            this.operation = operation;
+        }
+
+        /**
+         * Sends the request and records its latency and outcome.
+         *
+         * @return the response status
+         */
+        private int send(HttpRequest request, int expectedStatus) throws Exception {
+            long sent = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latenciesNanos.add(System.nanoTime() - sent);
+            if (response.statusCode() == 503) {
+                shed.incrementAndGet();
+            } else if (response.statusCode() != expectedStatus) {
+                unexpected.add(response.statusCode() + " " + response.body());
+            }
+            return response.statusCode();
+        }
+
+        private int succeeded() {
+            return latenciesNanos.size() - shed.get() - unexpected.size();
+        }
+
+        private void report(Duration elapsed) {
+            List<Long> sorted = new ArrayList<>(latenciesNanos);
+            Collections.sort(sorted);
+            log.info("{} with {} threads: {} requests, {} ok, {} shed (503), {} unexpected, {} req/s, p50 {} ms, p95 {} ms, p99 {} ms",
+                    operation, threadMode(), sorted.size(), succeeded(),
+                    shed.get(), unexpected.size(), Math.round(sorted.size() / (elapsed.toNanos() / 1e9)),
+                    percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.95), percentileMillis(sorted, 0.99));
+        }
+    }
+
+    /**
+     * Returns the thread mode of the server under test, for the report.
+     */
+    abstract String threadMode();
+
+    private static long percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return Duration.ofNanos(sorted.get(Math.max(index, 0))).toMillis();
+    }
+}
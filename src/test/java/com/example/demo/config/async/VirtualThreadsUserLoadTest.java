@@ -0,0 +1,18 @@
+package com.example.demo.config.async;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the registration and login load against Tomcat and the userExecutor on virtual threads.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles({"dev", "virtual"})
+class VirtualThreadsUserLoadTest extends UserLoadTest {
+
+    @Override
+    String threadMode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.config.json;
+
+import com.example.demo.auth.dto.response.RegisterUserResponse;
+import com.example.demo.user.dto.response.ErrorResponse;
+import com.example.demo.user.dto.response.PhoneResponse;
+import com.example.demo.user.dto.response.UserResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the hand-written serializers produce exactly the JSON of the default ObjectMapper.
+ */
+class ResponseSerializersTest {
+
+    private static final ObjectMapper DEFAULT = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final ObjectMapper TUNED = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new BlackbirdModule())
+            .addModule(JsonConfig.responseSerializers())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    static Stream<Object> responses() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime micros = LocalDateTime.of(2025, 9, 4, 22, 8, 3, 176_445_000);
+        LocalDateTime wholeSeconds = LocalDateTime.of(2025, 1, 1, 0, 0, 0);
+        LocalDateTime nanos = LocalDateTime.of(999, 12, 31, 23, 59, 59, 100);
+        LocalDateTime millis = LocalDateTime.of(2024, 2, 29, 7, 5, 9, 120_000_000);
+        return Stream.of(
+                new RegisterUserResponse(id, "Jane \"JD\" Doe", "jane@example.com", "a.b.c", micros, wholeSeconds, nanos, true),
+                new RegisterUserResponse(null, null, null, null, millis, null, null, null),
+                new ErrorResponse("Email already registered"),
+                new ErrorResponse(null),
+                new UserResponse(id, "Jöhn", "john@example.com",
+                        List.of(new PhoneResponse("1234567", "1", "57"), new PhoneResponse("7654321", "2", null)),
+                        micros, millis, null, false, 7L),
+                new UserResponse(id, "Empty", "empty@example.com", List.of(), wholeSeconds, nanos, micros, true, 0L),
+                new UserResponse(null, null, null, null, null, null, null, null, null)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("responses")
+    void serialize_matchesDefaultObjectMapper(Object response) throws Exception {
+        assertThat(TUNED.writeValueAsString(response)).isEqualTo(DEFAULT.writeValueAsString(response));
+    }
+
+    @Test
+    void serialize_keepsWireNamesOfActiveFlag() throws Exception {
+        UserResponse user = new UserResponse(null, null, null, List.of(), null, null, null, true, 1L);
+        RegisterUserResponse registered = new RegisterUserResponse(null, null, null, null, null, null, null, true);
+
+        assertThat(TUNED.readTree(TUNED.writeValueAsString(user)).fieldNames()).toIterable()
+                .contains("active").doesNotContain("isActive", "version");
+        assertThat(TUNED.readTree(TUNED.writeValueAsString(registered)).fieldNames()).toIterable()
+                .contains("isActive");
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.config.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Starts several application contexts in one JVM, as the test suite does, and checks that each
+ * gets its own second-level cache manager.
+ */
+class SecondLevelCacheConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(SecondLevelCacheConfig.class, PropertiesConfig.class)
+            .withPropertyValues(
+                    "spring.application.persistence.cache.regions.users.maximum-size=10",
+                    "spring.application.persistence.cache.regions.phones.maximum-size=10");
+
+    @Test
+    void twoContexts_getSeparateCacheManagersWithTheSameRegions() {
+        runner.run(first -> runner.run(second -> {
+            assertThat(first).hasNotFailed();
+            assertThat(second).hasNotFailed();
+
+            CacheManager firstManager = first.getBean(CacheManager.class);
+            CacheManager secondManager = second.getBean(CacheManager.class);
+            assertThat(firstManager).isNotSameAs(secondManager);
+            assertThat(firstManager.getCacheNames()).containsExactlyInAnyOrder("users", "phones");
+            assertThat(secondManager.getCacheNames()).containsExactlyInAnyOrder("users", "phones");
+        }));
+    }
+
+    @Test
+    void closingContext_closesItsCacheManagerOnly() {
+        runner.run(survivor -> {
+            CacheManager[] closed = new CacheManager[1];
+            runner.run(context -> closed[0] = context.getBean(CacheManager.class));
+
+            assertThat(closed[0].isClosed()).isTrue();
+            assertThat(survivor.getBean(CacheManager.class).isClosed()).isFalse();
+            assertThat(survivor.getBean(CacheManager.class).getCache("users")).isNotNull();
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(SecondLevelCacheProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.config.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class UuidV7Test {
+
+    private static final int IDS = 100_000;
+
+    @Test
+    void next_setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    void next_isStrictlyIncreasingWithinTheSameMillisecond() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < IDS; i++) {
+            UUID current = UuidV7.next();
+            // UUID.compareTo compares signed longs, so order is checked on the unsigned high bits.
+            assertThat(Long.compareUnsigned(current.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            previous = current;
+        }
+    }
+
+    @Test
+    void forVersion_selectsGenerator() {
+        assertThat(ConfigurableUuidGenerator.forVersion("7").get().version()).isEqualTo(7);
+        assertThat(ConfigurableUuidGenerator.forVersion("4").get().version()).isEqualTo(4);
+        assertThatThrownBy(() -> ConfigurableUuidGenerator.forVersion("1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
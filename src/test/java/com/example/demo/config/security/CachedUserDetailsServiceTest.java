@@ -0,0 +1,76 @@
+package com.example.demo.config.security;
+
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachedUserDetailsServiceTest {
+
+    private UserRepository repository;
+    private CachedUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserRepository.class);
+        userDetailsService = new CachedUserDetailsService(
+                repository,
+                new UserDetailsCacheProperties(true, Duration.ofMinutes(5), 100),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void loadUserByUsername_repeatedCalls_hitRepositoryOnce() {
+        when(repository.loadByEmail("jane@example.com")).thenReturn(Optional.of(user(true)));
+
+        userDetailsService.loadUserByUsername("jane@example.com");
+        UserDetails details = userDetailsService.loadUserByUsername("jane@example.com");
+
+        assertThat(details.getUsername()).isEqualTo("jane@example.com");
+        assertThat(userDetailsService.stats().hitCount()).isEqualTo(1);
+        verify(repository, times(1)).loadByEmail("jane@example.com");
+    }
+
+    @Test
+    void evict_reloadsChangedPrincipal() {
+        when(repository.loadByEmail("jane@example.com"))
+                .thenReturn(Optional.of(user(true)))
+                .thenReturn(Optional.of(user(false)));
+
+        assertThat(userDetailsService.loadUserByUsername("jane@example.com").isEnabled()).isTrue();
+        userDetailsService.evict("jane@example.com");
+
+        assertThat(userDetailsService.loadUserByUsername("jane@example.com").isEnabled()).isFalse();
+    }
+
+    @Test
+    void loadUserByUsername_unknownEmail_throwsAndIsNotCached() {
+        when(repository.loadByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(repository, times(2)).loadByEmail("ghost@example.com");
+    }
+
+    private static User user(boolean active) {
+        return User.builder()
+                .email("jane@example.com")
+                .password("hashedPassword")
+                .isActive(active)
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.demo.config.security;
+
+import com.example.demo.user.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers both authentication paths of JwtAuthenticationFilter: the stateless one, where the
+ * principal is built from the token claims and checked against the TokenVersionRegistry, and the
+ * default one, where the token must not have been revoked in the TokenRegistry.
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "KsdLbzbJCtR3e9Dc5ocJVcIuNl6neKcvCzXuF6bzHeg=";
+    // More live tokens than the registry's former size bound of 100,000.
+    private static final int TOKENS_BEYOND_FORMER_CAPACITY = 150_000;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+    private TokenRegistry tokenRegistry;
+    private UserDetailsService userDetailsService;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionRegistry = TokenVersionRegistry.inMemory();
+        tokenRegistry = new TokenRegistry(new TokenRegistryProperties(null, Duration.ofSeconds(1)),
+                new SimpleMeterRegistry());
+        userDetailsService = mock(UserDetailsService.class);
+        jwtService = jwtService(true);
+        filter = filter(true, tokenVersionRegistry);
+        user = User.builder().id(UUID.randomUUID()).email("jane@example.com").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessToken_authenticatesFromClaimsOnly() {
+        Authentication authentication = authenticate(filter, jwtService.generateToken(user));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("jane@example.com");
+        assertThat(authentication.getAuthorities()).isEmpty();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessToken_issuedBeforeVersionBump_isRejected() {
+        String token = jwtService.generateToken(user);
+
+        tokenVersionRegistry.bump(user.getId());
+
+        assertThat(authenticate(filter, token)).isNull();
+        assertThat(authenticate(filter, jwtService.generateToken(user))).isNotNull();
+    }
+
+    @Test
+    void statelessToken_ofInactiveUser_isRejected() {
+        user.setActive(false);
+
+        assertThat(authenticate(filter, jwtService.generateToken(user))).isNull();
+    }
+
+    @Test
+    void statelessToken_issuedBeforeRestart_isAccepted() {
+        String token = jwtService.generateToken(user);
+
+        JwtAuthenticationFilter restarted = filter(true, TokenVersionRegistry.inMemory());
+
+        assertThat(authenticate(restarted, token)).isNotNull();
+    }
+
+    @Test
+    void tokenWithoutStatelessClaims_isRejected() {
+        String token = jwtService(false).generateToken(user);
+
+        assertThat(authenticate(filter, token)).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void registeredToken_loadsUserDetails() {
+        jwtService = jwtService(false);
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(principal());
+
+        Authentication authentication = authenticate(filter(false, tokenVersionRegistry), jwtService.generateToken(user));
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void revokedToken_isRejectedWithoutLoadingUserDetails() {
+        jwtService = jwtService(false);
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(principal());
+        JwtAuthenticationFilter stateful = filter(false, tokenVersionRegistry);
+        String token = jwtService.generateToken(user);
+        assertThat(authenticate(stateful, token)).isNotNull();
+
+        tokenRegistry.revokeAll(user.getId());
+
+        assertThat(authenticate(stateful, token)).isNull();
+        verify(userDetailsService, times(1)).loadUserByUsername("jane@example.com");
+    }
+
+    @Test
+    void registeredToken_ofInactiveUser_isRejected() {
+        jwtService = jwtService(false);
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(
+                org.springframework.security.core.userdetails.User
+                        .withUsername("jane@example.com")
+                        .password("hashedPassword")
+                        .disabled(true)
+                        .build());
+
+        Authentication authentication = authenticate(filter(false, tokenVersionRegistry), jwtService.generateToken(user));
+
+        assertThat(authentication).isNull();
+    }
+
+    @Test
+    void registeredToken_issuedBeforeRestartWithoutSnapshot_isStillAccepted() {
+        jwtService = jwtService(false);
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(principal());
+        String token = jwtService.generateToken(user);
+
+        tokenRegistry = new TokenRegistry(new TokenRegistryProperties(null, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+        JwtAuthenticationFilter restarted = filter(false, tokenVersionRegistry);
+
+        assertThat(authenticate(restarted, token)).isNotNull();
+    }
+
+    @Test
+    void registeredTokens_areNeitherEvictedNorForgottenWhenManyMoreAreIssued() {
+        jwtService = jwtService(false);
+        when(userDetailsService.loadUserByUsername("jane@example.com")).thenReturn(principal());
+        JwtAuthenticationFilter stateful = filter(false, tokenVersionRegistry);
+        String kept = jwtService.generateToken(user);
+        String revoked = jwtService.generateToken(user);
+        tokenRegistry.revoke(jwtService.extractUsername(revoked).getId());
+
+        Instant now = Instant.now();
+        for (int i = 0; i < TOKENS_BEYOND_FORMER_CAPACITY; i++) {
+            tokenRegistry.register(new TokenRegistry.IssuedToken(
+                    "other-" + i, UUID.randomUUID(), "other@example.com", now, now.plusSeconds(60)));
+        }
+
+        assertThat(tokenRegistry.find(jwtService.extractUsername(kept).getId())).isPresent();
+        assertThat(authenticate(stateful, kept)).isNotNull();
+        assertThat(authenticate(stateful, revoked)).isNull();
+    }
+
+    private JwtService jwtService(boolean stateless) {
+        return new JwtService(
+                new SecurityConfigProperties(SECRET, 60_000L),
+                new StatelessAuthProperties(stateless),
+                tokenVersionRegistry,
+                tokenRegistry,
+                new SimpleMeterRegistry());
+    }
+
+    private JwtAuthenticationFilter filter(boolean stateless, TokenVersionRegistry registry) {
+        return new JwtAuthenticationFilter(
+                jwtService,
+                new VerifiedTokenCache(new TokenCacheProperties(true, 100), new SimpleMeterRegistry()),
+                userDetailsService,
+                new StatelessAuthProperties(stateless),
+                registry,
+                tokenRegistry,
+                new SimpleMeterRegistry());
+    }
+
+    private static org.springframework.security.core.userdetails.UserDetails principal() {
+        return org.springframework.security.core.userdetails.User
+                .withUsername("jane@example.com")
+                .password("hashedPassword")
+                .build();
+    }
+
+    private static Authentication authenticate(JwtAuthenticationFilter filter, String token) {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setServletPath("/api/users");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
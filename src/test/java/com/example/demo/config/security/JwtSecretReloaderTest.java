@@ -0,0 +1,69 @@
+package com.example.demo.config.security;
+
+import com.example.demo.user.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtSecretReloaderTest {
+
+    private static final String SECRET = "KsdLbzbJCtR3e9Dc5ocJVcIuNl6neKcvCzXuF6bzHeg=";
+    private static final String ROTATED_SECRET = "c2Vjb25kLXNlY3JldC1rZXktZm9yLWhzMjU2LXRlc3Rz";
+
+    @TempDir
+    Path tempDir;
+
+    private Path secretFile;
+    private JwtService jwtService;
+    private JwtSecretReloader reloader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        secretFile = Files.writeString(tempDir.resolve("jwt-secret"), SECRET + "\n");
+        SecurityConfigProperties securityConfigProperties = new SecurityConfigProperties(SECRET, 60_000L);
+        jwtService = new JwtService(securityConfigProperties, new StatelessAuthProperties(false), TokenVersionRegistry.inMemory(),
+                new TokenRegistry(new TokenRegistryProperties(null, Duration.ofSeconds(1)), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+        reloader = new JwtSecretReloader(jwtService, securityConfigProperties,
+                new JwtSecretReloadProperties(secretFile, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void reload_unchangedSecret_keepsKey() {
+        assertThat(reloader.reload()).isFalse();
+        assertThat(jwtService.keyGeneration()).isZero();
+    }
+
+    @Test
+    void reload_changedSecret_rotatesKey() throws Exception {
+        String oldToken = jwtService.generateToken(User.builder().email("jane@example.com").build());
+
+        Files.writeString(secretFile, ROTATED_SECRET);
+
+        assertThat(reloader.reload()).isTrue();
+        assertThat(jwtService.keyGeneration()).isEqualTo(1);
+        assertThatThrownBy(() -> jwtService.extractUsername(oldToken))
+                .isInstanceOf(io.jsonwebtoken.security.SignatureException.class);
+        assertThat(reloader.reload()).isFalse();
+    }
+
+    @Test
+    void reload_invalidOrMissingSecret_keepsKey() throws Exception {
+        Files.writeString(secretFile, "c2hvcnQ=");
+        assertThat(reloader.reload()).isFalse();
+
+        Files.delete(secretFile);
+        assertThat(reloader.reload()).isFalse();
+
+        assertThat(jwtService.keyGeneration()).isZero();
+    }
+}
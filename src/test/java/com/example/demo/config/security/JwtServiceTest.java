@@ -0,0 +1,73 @@
+package com.example.demo.config.security;
+
+import com.example.demo.user.entity.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "KsdLbzbJCtR3e9Dc5ocJVcIuNl6neKcvCzXuF6bzHeg=";
+    private static final String ROTATED_SECRET = "c2Vjb25kLXNlY3JldC1rZXktZm9yLWhzMjU2LXRlc3Rz";
+
+    private TokenRegistry tokenRegistry;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenRegistry = new TokenRegistry(new TokenRegistryProperties(null, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+        jwtService = new JwtService(new SecurityConfigProperties(SECRET, 60_000L), new StatelessAuthProperties(false),
+                TokenVersionRegistry.inMemory(), tokenRegistry, new SimpleMeterRegistry());
+        user = User.builder().email("jane@example.com").build();
+    }
+
+    @Test
+    void extractUsername_reusesKeyAndParser() {
+        String token = jwtService.generateToken(user);
+
+        assertThat(jwtService.extractUsername(token).getSubject()).isEqualTo("jane@example.com");
+        assertThat(jwtService.getSecretKey()).isSameAs(jwtService.getSecretKey());
+    }
+
+    @Test
+    void generateToken_registersTokenByJti() {
+        String token = jwtService.generateToken(user);
+
+        String jti = jwtService.extractUsername(token).getId();
+        assertThat(tokenRegistry.find(jti))
+                .hasValueSatisfying(issued -> assertThat(issued.subject()).isEqualTo("jane@example.com"));
+    }
+
+    @Test
+    void rotateSecret_rebuildsSigningState() {
+        String oldToken = jwtService.generateToken(user);
+
+        jwtService.rotateSecret(ROTATED_SECRET);
+        String newToken = jwtService.generateToken(user);
+
+        assertThat(jwtService.extractUsername(newToken).getSubject()).isEqualTo("jane@example.com");
+        assertThatThrownBy(() -> jwtService.extractUsername(oldToken))
+                .isInstanceOf(io.jsonwebtoken.security.SignatureException.class);
+    }
+
+    @Test
+    void missingSecret_isRejected() {
+        StatelessAuthProperties stateless = new StatelessAuthProperties(false);
+        TokenVersionRegistry versions = TokenVersionRegistry.inMemory();
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+        assertThatThrownBy(() -> new JwtService(new SecurityConfigProperties(null, 60_000L), stateless, versions,
+                tokenRegistry, meters))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("secret");
+        assertThatThrownBy(() -> jwtService.rotateSecret(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordEncoderFactoryTest {
+
+    @Test
+    void create_legacyBcryptHash_matchesAndNeedsUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderFactory.create(properties("bcrypt", 10));
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertThat(encoder.matches("secret", legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void create_currentHash_doesNotNeedUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderFactory.create(properties("bcrypt", 4));
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).startsWith("{bcrypt}");
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void create_switchingAlgorithm_upgradesPreviousHashes() {
+        String bcryptHash = PasswordEncoderFactory.create(properties("bcrypt", 4)).encode("secret");
+        PasswordEncoder pbkdf2 = PasswordEncoderFactory.create(properties("pbkdf2", 4));
+
+        assertThat(pbkdf2.matches("secret", bcryptHash)).isTrue();
+        assertThat(pbkdf2.upgradeEncoding(bcryptHash)).isTrue();
+        assertThat(pbkdf2.encode("secret")).startsWith("{pbkdf2}");
+    }
+
+    @Test
+    void calibrateStrength_neverGoesBelowFloor() {
+        int strength = PasswordEncoderFactory.calibrateStrength(BCryptPasswordEncoder::new, 5, Duration.ZERO);
+
+        assertThat(strength).isEqualTo(5);
+    }
+
+    @Test
+    void isSupportedHash_acceptsPrefixedAndBareBcryptHashesOnly() {
+        assertThat(PasswordEncoderFactory.isSupportedHash(
+                PasswordEncoderFactory.create(properties("pbkdf2", 4)).encode("secret"))).isTrue();
+        assertThat(PasswordEncoderFactory.isSupportedHash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(PasswordEncoderFactory.isSupportedHash("{md5}5ebe2294ecd0e0f08eab7690d2a6ee69")).isFalse();
+        assertThat(PasswordEncoderFactory.isSupportedHash("secret")).isFalse();
+    }
+
+    private static PasswordEncodingProperties properties(String algorithm, int bcryptStrength) {
+        return new PasswordEncodingProperties(
+                algorithm,
+                new PasswordEncodingProperties.Bcrypt(bcryptStrength),
+                new PasswordEncodingProperties.Argon2(16, 32, 1, 16384, 2),
+                new PasswordEncodingProperties.Pbkdf2(16, 1000),
+                new PasswordEncodingProperties.Calibration(false, Duration.ofMillis(250))
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenRegistryTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void revokeAll_removesEveryTokenOfUser() {
+        TokenRegistry registry = registry(null);
+        registry.register(token("a", Duration.ofMinutes(5)));
+        registry.register(token("b", Duration.ofMinutes(5)));
+
+        assertThat(registry.tokensOf(USER_ID)).hasSize(2);
+        assertThat(registry.revokeAll(USER_ID)).isEqualTo(2);
+
+        assertThat(registry.find("a")).isEmpty();
+        assertThat(registry.isRevoked("a")).isTrue();
+        assertThat(registry.isRevoked("b")).isTrue();
+        assertThat(registry.tokensOf(USER_ID)).isEmpty();
+    }
+
+    @Test
+    void isRevoked_unknownToken_isFalse() {
+        assertThat(registry(null).isRevoked("issued-before-restart")).isFalse();
+    }
+
+    @Test
+    void register_expiredToken_isIgnored() {
+        TokenRegistry registry = registry(null);
+
+        registry.register(token("expired", Duration.ofMinutes(-1)));
+
+        assertThat(registry.find("expired")).isEmpty();
+    }
+
+    @Test
+    void open_restoresLiveTokensFromSnapshotAndCompactsIt() throws Exception {
+        Path snapshot = tempDir.resolve("tokens.log");
+        TokenRegistry registry = registry(snapshot);
+        registry.open();
+        registry.register(token("kept", Duration.ofMinutes(5)));
+        registry.register(token("revoked", Duration.ofMinutes(5)));
+        registry.revoke("revoked");
+        registry.close();
+
+        TokenRegistry restored = registry(snapshot);
+        restored.open();
+
+        assertThat(restored.find("kept")).isPresent();
+        assertThat(restored.find("revoked")).isEmpty();
+        assertThat(restored.isRevoked("revoked")).isTrue();
+        assertThat(restored.isRevoked("kept")).isFalse();
+        assertThat(restored.tokensOf(USER_ID)).extracting(TokenRegistry.IssuedToken::jti).containsExactly("kept");
+        // The kept token, plus the revoked one and its revocation.
+        assertThat(Files.readAllLines(snapshot)).hasSize(3);
+        restored.close();
+    }
+
+    private static TokenRegistry registry(Path snapshot) {
+        return new TokenRegistry(new TokenRegistryProperties(snapshot, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+    }
+
+    private static TokenRegistry.IssuedToken token(String jti, Duration ttl) {
+        Instant now = Instant.now();
+        return new TokenRegistry.IssuedToken(jti, USER_ID, "jane@example.com", now, now.plus(ttl));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.config.security;
+
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that stateless token revocations are written to the users table and honoured by a
+ * registry that starts afterwards, as after a restart or on another instance.
+ */
+@SpringBootTest(properties = "spring.application.security.jwt.stateless.enabled=true")
+@ActiveProfiles("dev")
+class TokenVersionPersistenceTest {
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.saveAndFlush(User.builder()
+                .name("Versioned")
+                .email("versioned-" + UUID.randomUUID() + "@example.com")
+                .password("hashedPassword")
+                .build());
+    }
+
+    @Test
+    void bump_isPersistedAndSeenByANewRegistry() {
+        int bumped = tokenVersionRegistry.bump(user.getId());
+        tokenVersionRegistry.flush();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT token_version FROM users WHERE id = ?", Integer.class, user.getId()))
+                .isEqualTo(bumped);
+
+        TokenVersionRegistry restarted = registry();
+        assertThat(restarted.current(user.getId())).isEqualTo(bumped);
+        assertThat(restarted.isCurrent(user.getId(), bumped - 1)).isFalse();
+        assertThat(restarted.isCurrent(user.getId(), bumped)).isTrue();
+    }
+
+    @Test
+    void flush_neverMovesTheStoredVersionBackwards() {
+        TokenVersionRegistry stale = registry();
+        assertThat(stale.bump(user.getId())).isEqualTo(1);
+        jdbcTemplate.update("UPDATE users SET token_version = 2 WHERE id = ?", user.getId());
+
+        stale.flush();
+
+        assertThat(registry().current(user.getId())).isEqualTo(2);
+    }
+
+    private TokenVersionRegistry registry() {
+        return new TokenVersionRegistry(jdbcTemplate, new StatelessAuthProperties(true),
+                new TokenVersionProperties(Duration.ofMinutes(1), 1_000, Duration.ofSeconds(1)));
+    }
+}
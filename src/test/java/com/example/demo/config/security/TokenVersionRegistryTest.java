@@ -0,0 +1,36 @@
+package com.example.demo.config.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenVersionRegistryTest {
+
+    private final TokenVersionRegistry registry = TokenVersionRegistry.inMemory();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void isCurrent_neverBumpedUser_acceptsVersionZero() {
+        assertThat(registry.current(userId)).isZero();
+        assertThat(registry.isCurrent(userId, 0)).isTrue();
+    }
+
+    @Test
+    void bump_revokesTokensCarryingAnOlderVersion() {
+        assertThat(registry.bump(userId)).isEqualTo(1);
+
+        assertThat(registry.isCurrent(userId, 0)).isFalse();
+        assertThat(registry.isCurrent(userId, 1)).isTrue();
+        assertThat(registry.isCurrent(UUID.randomUUID(), 0)).isTrue();
+    }
+
+    @Test
+    void flush_inMemoryRegistry_writesNothing() {
+        registry.bump(userId);
+
+        assertThat(registry.flush()).isZero();
+        assertThat(registry.current(userId)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(new TokenCacheProperties(true, 100), new SimpleMeterRegistry());
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    void get_repeatedToken_verifiesOnce() {
+        Function<String, Claims> verifier = verifierExpiringIn(60_000);
+
+        Claims first = cache.get("token-a", 0, verifier);
+        Claims second = cache.get("token-a", 0, verifier);
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_alreadyExpiredClaims_areNotRetained() {
+        Function<String, Claims> verifier = verifierExpiringIn(-1_000);
+
+        cache.get("token-b", 0, verifier);
+        cache.get("token-b", 0, verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void get_verifierFailure_isNotCached() {
+        Function<String, Claims> failing = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        assertThatThrownBy(() -> cache.get("token-c", 0, failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get("token-c", 0, failing)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void get_newKeyGeneration_verifiesAgain() {
+        Function<String, Claims> verifier = verifierExpiringIn(60_000);
+
+        cache.get("token-d", 0, verifier);
+        cache.get("token-d", 1, verifier);
+        cache.get("token-d", 1, verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private Function<String, Claims> verifierExpiringIn(long millis) {
+        return token -> {
+            verifications.incrementAndGet();
+            return Jwts.claims()
+                    .setSubject("jane@example.com")
+                    .setExpiration(new Date(System.currentTimeMillis() + millis));
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.user.controller;
 
 import com.example.demo.auth.dto.request.UpdateUserRequest;
+import com.example.demo.user.dto.response.UserResponse;
 import com.example.demo.user.entity.User;
 import com.example.demo.user.service.UserService;
 
@@ -13,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -50,12 +52,34 @@ public class UserCommandControllerTest {
         updatedUser.setLastLogin(LocalDateTime.now().minusHours(1));
         updatedUser.setActive(true);
 
-        when(userService.update(request, userId)).thenReturn(updatedUser);
+        when(userService.update(request, userId, null)).thenReturn(CompletableFuture.completedFuture(UserResponse.from(updatedUser)));
 
-        ResponseEntity<User> response = userCommandController.update(userId, request);
+        ResponseEntity<UserResponse> response = userCommandController.update(userId, null, request).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertThat(response.getBody()).isNotNull();
-        verify(userService, times(1)).update(any(), any());
+        verify(userService, times(1)).update(any(), any(), any());
+    }
+
+    @Test
+    public void testPatchUser_Success() {
+        UUID userId = UUID.randomUUID();
+        UpdateUserRequest request = new UpdateUserRequest("John Doe", null, null, null, null);
+
+        User updatedUser = new User();
+        updatedUser.setId(userId);
+        updatedUser.setName(request.name());
+        updatedUser.setEmail("john.doe@example.com");
+        updatedUser.setCreated(LocalDateTime.now().minusDays(1));
+        updatedUser.setModified(LocalDateTime.now());
+        updatedUser.setVersion(1L);
+
+        when(userService.patch(request, userId, "\"etag\"")).thenReturn(CompletableFuture.completedFuture(UserResponse.from(updatedUser)));
+
+        ResponseEntity<UserResponse> response = userCommandController.patch(userId, "\"etag\"", request).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        verify(userService, never()).update(any(), any(), any());
     }
 }
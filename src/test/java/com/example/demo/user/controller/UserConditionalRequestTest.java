@@ -0,0 +1,116 @@
+package com.example.demo.user.controller;
+
+import com.example.demo.config.security.JwtService;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks ETag handling of GET and PUT /api/users/{id} against the real database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class UserConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.saveAndFlush(User.builder()
+                .name("Conditional")
+                .email("conditional-" + UUID.randomUUID() + "@example.com")
+                .password("hashedPassword")
+                .phones(new ArrayList<>())
+                .build());
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void getUser_currentETag_returnsNotModifiedFromVersionLookupOnly() throws Exception {
+        String eTag = getUser(null)
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        getUser(eTag)
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        getUser("\"0-0\"").andExpect(status().isOk());
+    }
+
+    @Test
+    void update_checksIfMatchAndReturnsNewETag() throws Exception {
+        String eTag = getUser(null).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        update("\"0-0\"").andExpect(status().isPreconditionFailed());
+
+        String updatedETag = update(eTag)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedETag).isNotNull().isNotEqualTo(eTag);
+    }
+
+    private ResultActions getUser(String ifNoneMatch) throws Exception {
+        var request = get("/api/users/{id}", user.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private ResultActions update(String ifMatch) throws Exception {
+        MvcResult started = mockMvc.perform(put("/api/users/{id}", user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"isActive\":true}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.user.controller;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.config.security.JwtService;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+import com.example.demo.user.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks that GET /api/users/{id} reads the user and its phones with a single statement and
+ * that serializing the response does not lazy-load anything.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class UserQueryControllerQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.saveAndFlush(User.builder()
+                .name("Projected")
+                .email("projected-" + UUID.randomUUID() + "@example.com")
+                .password("hashedPassword")
+                .phones(new ArrayList<>(List.of(
+                        UserService.toPhone(new PhoneDto("1234567", "1", "57")),
+                        UserService.toPhone(new PhoneDto("7654321", "2", "57")))))
+                .build());
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void getUser_loadsUserAndPhonesWithOneStatement() throws Exception {
+        // The first request warms the authentication caches, which are not part of the read path.
+        getUser();
+        statistics.clear();
+
+        getUser()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId().toString()))
+                .andExpect(jsonPath("$.phones.length()").value(2))
+                .andExpect(jsonPath("$.password").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void getUser_unknownId_returnsNotFound() throws Exception {
+        getUser();
+
+        mockMvc.perform(get("/api/users/{id}", UUID.randomUUID())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions getUser() throws Exception {
+        return mockMvc.perform(get("/api/users/{id}", user.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.demo.user.controller;
 
+import com.example.demo.user.dto.response.UserResponse;
 import com.example.demo.user.entity.User;
+import com.example.demo.user.service.UserExportProperties;
+import com.example.demo.user.service.UserExportService;
 import com.example.demo.user.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -22,7 +30,8 @@ class UserQueryControllerTest {
     @BeforeEach
     void setUp() {
         userService = mock(UserService.class);
-        userQueryController = new UserQueryController(userService);
+        userQueryController = new UserQueryController(userService, mock(UserExportService.class),
+                new UserExportProperties(500, Duration.ofHours(1)));
     }
 
     @Test
@@ -37,21 +46,40 @@ class UserQueryControllerTest {
                 .modified(LocalDateTime.now().minusHours(2))
                 .lastLogin(LocalDateTime.now().minusMinutes(10))
                 .isActive(true)
+                .version(3L)
                 .build();
+        UserResponse expected = UserResponse.from(user);
 
-        when(userService.getUserById(userId)).thenReturn(user);
+        when(userService.getUserById(userId)).thenReturn(expected);
 
         // Act
-        ResponseEntity<User> response = userQueryController.getUser(userId);
+        ResponseEntity<UserResponse> response = userQueryController.getUser(userId, webRequest(null));
 
         // Assert
         assertThat(response).isNotNull();
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
-        assertThat(response.getBody()).isEqualTo(user);
+        assertThat(response.getBody()).isEqualTo(expected);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + expected.eTag() + "\"");
 
         verify(userService).getUserById(userId);
     }
 
+    @Test
+    void getUser_matchingIfNoneMatch_returnsNotModifiedWithoutLoadingUser() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(userService.getUserETag(userId)).thenReturn("3-5f1a");
+        ServletWebRequest request = webRequest("\"3-5f1a\"");
+
+        // Act
+        ResponseEntity<UserResponse> response = userQueryController.getUser(userId, request);
+
+        // Assert
+        assertThat(response).isNull();
+        assertThat(request.getResponse().getStatus()).isEqualTo(304);
+        verify(userService, never()).getUserById(any());
+    }
+
     @Test
     void getUser_userNotFound_throwsException() {
         // Arrange
@@ -61,10 +89,18 @@ class UserQueryControllerTest {
                 .thenThrow(new ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
 
         // Act & Assert
-        assertThatThrownBy(() -> userQueryController.getUser(userId))
+        assertThatThrownBy(() -> userQueryController.getUser(userId, webRequest(null)))
                 .isInstanceOf(ResponseStatusException.class)
                 .hasMessageContaining("User not found");
 
         verify(userService).getUserById(userId);
     }
+
+    private static ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
@@ -0,0 +1,85 @@
+package com.example.demo.user.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import com.example.demo.user.entity.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LastLoginBufferTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private Cache secondLevelCache;
+    private LastLoginBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        secondLevelCache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        buffer = new LastLoginBuffer(jdbcTemplate, entityManagerFactory,
+                new LastLoginProperties(Duration.ofSeconds(5), 2), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_coalescesLoginsOfSameUserIntoLatest() {
+        UUID id = UUID.randomUUID();
+        buffer.record(id, NOW.plusSeconds(2));
+        buffer.record(id, NOW);
+        buffer.record(id, NOW.plusSeconds(1));
+
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(LastLoginBuffer.UPDATE_SQL), args.capture());
+        assertThat(args.getValue()).singleElement()
+                .isEqualTo(new Object[]{NOW.plusSeconds(2), id, NOW.plusSeconds(2)});
+        verify(secondLevelCache).evict(User.class, id);
+        assertThat(buffer.flush()).isZero();
+    }
+
+    @Test
+    void flush_splitsIntoBatchesOfConfiguredSize() {
+        for (int i = 0; i < 5; i++) {
+            buffer.record(UUID.randomUUID(), NOW);
+        }
+
+        assertThat(buffer.flush()).isEqualTo(5);
+
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(LastLoginBuffer.UPDATE_SQL), anyList());
+    }
+
+    @Test
+    void flush_failedBatch_isRetriedOnNextFlush() {
+        UUID id = UUID.randomUUID();
+        buffer.record(id, NOW);
+        when(jdbcTemplate.batchUpdate(eq(LastLoginBuffer.UPDATE_SQL), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        buffer.flush();
+        assertThat(buffer.flush()).isEqualTo(1);
+
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(LastLoginBuffer.UPDATE_SQL), anyList());
+    }
+}
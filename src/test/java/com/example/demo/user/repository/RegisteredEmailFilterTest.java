@@ -0,0 +1,88 @@
+package com.example.demo.user.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RegisteredEmailFilterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RegisteredEmailFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        emailFilter = new RegisteredEmailFilter(
+                jdbcTemplate,
+                new EmailFilterProperties(true, 1_000, 0.01, Duration.ofHours(1)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void mightContain_beforeFirstBuild_assumesEveryEmailExists() {
+        assertThat(emailFilter.mightContain("unknown@example.com")).isTrue();
+        assertThat(emailFilter.expectedFalsePositiveRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rebuild_streamsRegisteredEmails() throws Exception {
+        streamEmails(List.of("jane@example.com", "john@example.com"));
+
+        emailFilter.rebuild();
+
+        assertThat(emailFilter.mightContain("jane@example.com")).isTrue();
+        assertThat(emailFilter.mightContain("john@example.com")).isTrue();
+        assertThat(emailFilter.mightContain("unknown@example.com")).isFalse();
+        assertThat(emailFilter.expectedFalsePositiveRate()).isLessThan(0.01);
+    }
+
+    @Test
+    void add_afterBuild_isVisible() throws Exception {
+        streamEmails(List.of());
+        emailFilter.rebuild();
+
+        emailFilter.add("new@example.com");
+
+        assertThat(emailFilter.mightContain("new@example.com")).isTrue();
+    }
+
+    @Test
+    void rebuild_failure_keepsPreviousFilter() throws Exception {
+        streamEmails(List.of("jane@example.com"));
+        emailFilter.rebuild();
+        when(jdbcTemplate.queryForObject(RegisteredEmailFilter.COUNT_SQL, Long.class))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        emailFilter.rebuild();
+
+        assertThat(emailFilter.mightContain("jane@example.com")).isTrue();
+        assertThat(emailFilter.mightContain("unknown@example.com")).isFalse();
+    }
+
+    private void streamEmails(List<String> emails) throws Exception {
+        when(jdbcTemplate.queryForObject(RegisteredEmailFilter.COUNT_SQL, Long.class)).thenReturn((long) emails.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String email : emails) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(email);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.user.repository;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.user.entity.Phone;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Counts the SQL statements Hibernate prepares to persist a user with phones.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("dev")
+class UserPhonesPersistenceTest {
+
+    private static final int PHONES = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAndFlush_userWithPhones_isOneUserInsertPlusOneBatchedPhoneInsert() {
+        User user = User.builder()
+                .name("Jane")
+                .email("jane@example.com")
+                .password("hashedPassword")
+                .phones(IntStream.range(0, PHONES).mapToObj(UserPhonesPersistenceTest::phone)
+                        .collect(ArrayList::new, ArrayList::add, ArrayList::addAll))
+                .build();
+
+        userRepository.saveAndFlush(user);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + PHONES);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getCollectionUpdateCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void setPhones_replacesPhonesAndLinksThemToUser() {
+        User user = userRepository.saveAndFlush(User.builder()
+                .name("John")
+                .email("john@example.com")
+                .password("hashedPassword")
+                .phones(new ArrayList<>(List.of(phone(0))))
+                .build());
+
+        user.setPhones(List.of(phone(1), phone(2)));
+        userRepository.saveAndFlush(user);
+
+        assertThat(user.getPhones()).hasSize(2).allSatisfy(phone -> assertThat(phone.getUser()).isSameAs(user));
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+    }
+
+    private static Phone phone(int i) {
+        return UserService.toPhone(new PhoneDto("123456" + i, "1", "57"));
+    }
+}
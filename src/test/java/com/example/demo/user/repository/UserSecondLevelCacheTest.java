@@ -0,0 +1,83 @@
+package com.example.demo.user.repository;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.service.UserService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that users, their phones and email lookups are served from the second-level cache.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.saveAndFlush(User.builder()
+                .name("Cached")
+                .email("cached-" + UUID.randomUUID() + "@example.com")
+                .password("hashedPassword")
+                .phones(new ArrayList<>(List.of(UserService.toPhone(new PhoneDto("1234567", "1", "57")))))
+                .build());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_withPhones_isServedFromCacheOnSecondLoad() {
+        loadPhoneCount();
+        statistics.clear();
+
+        assertThat(loadPhoneCount()).isEqualTo(1);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("user-phones").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadByEmail_isServedFromNaturalIdCacheOnSecondLoad() {
+        userRepository.loadByEmail(user.getEmail());
+        statistics.clear();
+
+        assertThat(userRepository.loadByEmail(user.getEmail())).hasValueSatisfying(
+                loaded -> assertThat(loaded.getId()).isEqualTo(user.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    private Integer loadPhoneCount() {
+        return transactionTemplate.execute(status ->
+                userRepository.findById(user.getId()).orElseThrow().getPhones().size());
+    }
+}
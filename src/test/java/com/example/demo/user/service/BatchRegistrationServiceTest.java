@@ -0,0 +1,62 @@
+package com.example.demo.user.service;
+
+import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.auth.dto.response.BatchRegisterUserResponse;
+import com.example.demo.user.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Registers batches against the real database and checks the per-item results.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class BatchRegistrationServiceTest {
+
+    @Autowired
+    private BatchRegistrationService batchRegistrationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void create_reportsEachItemWithoutFailingTheBatch() {
+        String prefix = "batch-" + System.nanoTime();
+        String existing = prefix + "-existing@example.com";
+        userService.create(new CreateUserRequest("Existing", existing, "secret", List.of())).join();
+
+        List<CreateUserRequest> batch = Arrays.asList(
+                new CreateUserRequest("First", prefix + "-1@example.com", "secret", List.of(new PhoneDto("1234567", "1", "57"))),
+                new CreateUserRequest("Repeated", prefix + "-1@example.com", "secret", List.of()),
+                new CreateUserRequest("Invalid", "not-an-email", "secret", List.of()),
+                new CreateUserRequest("Existing", existing, "secret", List.of()),
+                null,
+                new CreateUserRequest("Second", prefix + "-2@example.com", "secret", null)
+        );
+
+        List<BatchRegisterUserResponse> results = batchRegistrationService.create(batch).join();
+
+        assertThat(results).extracting(BatchRegisterUserResponse::index).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).extracting(BatchRegisterUserResponse::status).containsExactly(201, 400, 400, 400, 400, 201);
+        assertThat(results.get(1).message()).isEqualTo("Email already registered");
+        assertThat(results.get(2).message()).isEqualTo("email must be a valid email address");
+        assertThat(results.get(3).message()).isEqualTo("Email already registered");
+        assertThat(results.get(4).message()).isEqualTo("Malformed request");
+        assertThat(results.get(0).user().token()).isNotBlank();
+        assertThat(userRepository.findWithPhonesById(results.get(0).user().id()))
+                .hasValueSatisfying(user -> assertThat(user.getPhones()).hasSize(1));
+        assertThat(userRepository.findByEmail(prefix + "-2@example.com")).isPresent();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.user.service;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Exports more users than fit in one chunk and checks that they are written in order, outside any
+ * transaction, without touching the second-level cache, and that at most one chunk is held at a
+ * time: every flush writes at most chunkSize users, each read from its own short-lived session.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserExportServiceTest {
+
+    private static final int USERS = 1_100;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserExportProperties properties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void export_writesEveryUserInOrderWithoutHoldingATransaction() throws Exception {
+        String prefix = "export-" + UUID.randomUUID();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .name("Exported " + i)
+                    .email(prefix + "-" + i + "@example.com")
+                    .password("hashedPassword")
+                    .phones(new ArrayList<>(List.of(UserService.toPhone(new PhoneDto(String.valueOf(1_000_000 + i), "1", "57")))))
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long cachePuts = statistics.getSecondLevelCachePutCount();
+        long sessionsClosed = statistics.getSessionCloseCount();
+
+        TransactionTrackingOutputStream out = new TransactionTrackingOutputStream();
+        long exported = userExportService.export(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(exported).isEqualTo(userRepository.count());
+        assertThat(lines).hasSize((int) exported);
+
+        List<JsonNode> ours = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode user = objectMapper.readTree(line);
+            assertThat(user.has("password")).isFalse();
+            if (user.get("email").asText().startsWith(prefix)) {
+                ours.add(user);
+            }
+        }
+        assertThat(ours).hasSize(USERS);
+        assertThat(ours).allSatisfy(user -> assertThat(user.get("phones")).hasSize(1));
+
+        assertThat(lines).extracting(line -> LocalDateTime.parse(objectMapper.readTree(line).get("created").asText()))
+                .isSorted();
+
+        assertThat(out.flushes).isGreaterThanOrEqualTo(USERS / properties.chunkSize());
+        assertThat(out.flushesInTransaction).isZero();
+        assertThat(out.maxUsersPerFlush).isPositive().isLessThanOrEqualTo(properties.chunkSize());
+        // Each chunk's persistence context is closed before the chunk is written.
+        assertThat(statistics.getSessionCloseCount() - sessionsClosed).isGreaterThanOrEqualTo(out.flushes);
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(cachePuts);
+    }
+
+    /**
+     * Records, on every flush, how many users were written since the previous one and whether the
+     * export still holds a transaction and its connection.
+     */
+    private static class TransactionTrackingOutputStream extends ByteArrayOutputStream {
+
+        int flushes;
+        int flushesInTransaction;
+        int maxUsersPerFlush;
+        private int linesAtLastFlush;
+
+        @Override
+        public void flush() {
+            flushes++;
+            int lines = (int) toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count();
+            maxUsersPerFlush = Math.max(maxUsersPerFlush, lines - linesAtLastFlush);
+            linesAtLastFlush = lines;
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                flushesInTransaction++;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.user.service;
+
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Imports small files in chunks of two rows against the real database.
+ */
+@SpringBootTest(properties = "spring.application.user.import.chunk-size=2")
+@ActiveProfiles("dev")
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void importFile_csv_importsValidRowsAndReportsTheRest() throws Exception {
+        String prefix = "import-" + UUID.randomUUID();
+        String legacyHash = new BCryptPasswordEncoder(4).encode("legacy-secret");
+        Path file = directory.resolve("users.csv");
+        Files.write(file, List.of(
+                "name,email,password,passwordHash,phones",
+                "Plain," + prefix + "-1@example.com,plain-secret,,1234567:1:57",
+                "\"Doe, Legacy\"," + prefix + "-2@example.com,," + legacyHash + ",1234567:1:57;7654321:2:57",
+                "Invalid,not-an-email,secret,,",
+                "Repeated," + prefix + "-1@example.com,secret,,",
+                "Unknown hash," + prefix + "-3@example.com,,{md5}5ebe2294ecd0e0f08eab7690d2a6ee69,",
+                "Bad phone," + prefix + "-4@example.com,secret,,1234567"
+        ), StandardCharsets.UTF_8);
+
+        UserImportService.ImportResult result = userImportService.importFile(file);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.rowsPerSecond()).isPositive();
+
+        User plain = userRepository.findWithPhonesById(
+                userRepository.findByEmail(prefix + "-1@example.com").orElseThrow().getId()).orElseThrow();
+        assertThat(passwordEncoder.matches("plain-secret", plain.getPassword())).isTrue();
+        assertThat(plain.getPhones()).hasSize(1);
+        User legacy = userRepository.findWithPhonesById(
+                userRepository.findByEmail(prefix + "-2@example.com").orElseThrow().getId()).orElseThrow();
+        assertThat(legacy.getName()).isEqualTo("Doe, Legacy");
+        assertThat(legacy.getPassword()).isEqualTo(legacyHash);
+        assertThat(legacy.getPhones()).hasSize(2);
+
+        assertThat(Files.readAllLines(directory.resolve("users.csv.errors"))).containsExactly(
+                "4\tnot-an-email\temail must be a valid email address",
+                "5\t" + prefix + "-1@example.com\tEmail already registered",
+                "6\t" + prefix + "-3@example.com\tUnsupported password hash",
+                "7\t\tMalformed row");
+    }
+
+    @Test
+    void importFile_ndjson_resumesAfterCheckpoint() throws Exception {
+        String prefix = "resume-" + UUID.randomUUID();
+        Path file = directory.resolve("users.ndjson");
+        Files.write(file, List.of(
+                line("First", prefix + "-1@example.com"),
+                line("Second", prefix + "-2@example.com"),
+                line("Third", prefix + "-3@example.com"),
+                "{not json",
+                line("Fifth", prefix + "-5@example.com")
+        ), StandardCharsets.UTF_8);
+        // As left behind by a run that committed the first chunk and then stopped.
+        Files.writeString(directory.resolve("users.ndjson.checkpoint"), file.toAbsolutePath() + "\n2\n");
+
+        UserImportService.ImportResult result = userImportService.importFile(file);
+
+        assertThat(result.resumedAfterLine()).isEqualTo(2);
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(userRepository.findByEmail(prefix + "-1@example.com")).isEmpty();
+        assertThat(userRepository.findByEmail(prefix + "-3@example.com")).isPresent();
+        assertThat(userRepository.findByEmail(prefix + "-5@example.com")).isPresent();
+
+        UserImportService.ImportResult rerun = userImportService.importFile(file);
+
+        assertThat(rerun.resumedAfterLine()).isEqualTo(5);
+        assertThat(rerun.imported() + rerun.rejected()).isZero();
+    }
+
+    private static String line(String name, String email) {
+        return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"secret\","
+                + "\"phones\":[{\"number\":\"1234567\",\"cityCode\":\"1\",\"countryCode\":\"57\"}]}";
+    }
+}
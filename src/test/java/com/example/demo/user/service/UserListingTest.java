@@ -0,0 +1,114 @@
+package com.example.demo.user.service;
+
+import com.example.demo.user.dto.response.UserPageResponse;
+import com.example.demo.user.dto.response.UserResponse;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Walks the keyset-paginated user listing against the real database.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserListingTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String prefix;
+    private final List<UUID> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        prefix = "listing-" + UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            created.add(userRepository.saveAndFlush(User.builder()
+                    .name("Listed " + i)
+                    .email(prefix + "-" + i + "@example.com")
+                    .password("hashedPassword")
+                    .isActive(i != 2)
+                    .build()).getId());
+        }
+    }
+
+    @Test
+    void listUsers_walksEveryUserOnceInCreationOrderWithTwoStatementsPerPage() {
+        List<UUID> seen = new ArrayList<>();
+        Set<UUID> unique = new HashSet<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            UserPageResponse page = userService.listUsers(cursor, PAGE_SIZE, null);
+
+            assertThat(page.users()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+            for (UserResponse user : page.users()) {
+                assertThat(unique.add(user.id())).isTrue();
+                if (user.email().startsWith(prefix)) {
+                    seen.add(user.id());
+                }
+            }
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(created);
+        assertThat(unique).hasSize((int) userRepository.count());
+    }
+
+    @Test
+    void listUsers_activeFilter_skipsInactiveUsers() {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserPageResponse page = userService.listUsers(cursor, PAGE_SIZE, true);
+            page.users().forEach(user -> assertThat(user.isActive()).isTrue());
+            page.users().stream()
+                    .filter(user -> user.email().startsWith(prefix))
+                    .forEach(user -> seen.add(user.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(created.get(0), created.get(1), created.get(3), created.get(4));
+    }
+
+    @Test
+    void listUsers_capsPageSizeAndRejectsInvalidInput() {
+        assertThat(userService.listUsers(null, Integer.MAX_VALUE, null).users())
+                .hasSizeLessThanOrEqualTo(500);
+        assertThatThrownBy(() -> userService.listUsers(null, 0, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Page size must be positive");
+        assertThatThrownBy(() -> userService.listUsers("not a cursor", PAGE_SIZE, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.user.service;
+
+import com.example.demo.auth.dto.request.PhoneDto;
+import com.example.demo.auth.dto.request.UpdateUserRequest;
+import com.example.demo.user.dto.response.PhoneResponse;
+import com.example.demo.user.dto.response.UserResponse;
+import com.example.demo.user.entity.Phone;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that PATCH /api/users/{id} only writes the user columns and phone rows that changed.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserPartialUpdateTest {
+
+    private static final String PASSWORD = "secret123";
+
+    private static final PhoneDto HOME = new PhoneDto("1111111", "1", "57");
+    private static final PhoneDto WORK = new PhoneDto("2222222", "2", "57");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.saveAndFlush(User.builder()
+                .name("Partial")
+                .email("partial-" + UUID.randomUUID() + "@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .phones(new ArrayList<>(List.of(UserService.toPhone(HOME), UserService.toPhone(WORK))))
+                .build());
+        statistics.clear();
+    }
+
+    @Test
+    void patch_changedPhoneNumber_updatesOnlyThatRow() {
+        PhoneDto changed = new PhoneDto("3333333", "2", "57");
+
+        UserResponse response = patch(new UpdateUserRequest(null, null, null, List.of(HOME, changed), null));
+
+        assertThat(response.phones()).extracting(PhoneResponse::number).containsExactlyInAnyOrder("1111111", "3333333");
+        assertThat(phoneStatistics().getUpdateCount()).isEqualTo(1);
+        assertThat(phoneStatistics().getInsertCount()).isZero();
+        assertThat(phoneStatistics().getDeleteCount()).isZero();
+    }
+
+    @Test
+    void patch_removedAndAddedPhones_deleteAndInsertOnlyTheDifference() {
+        patch(new UpdateUserRequest(null, null, null, List.of(HOME), null));
+
+        assertThat(phoneStatistics().getDeleteCount()).isEqualTo(1);
+        assertThat(phoneStatistics().getInsertCount()).isZero();
+        assertThat(phoneStatistics().getUpdateCount()).isZero();
+
+        statistics.clear();
+        PhoneDto mobile = new PhoneDto("4444444", "3", "57");
+        UserResponse response = patch(new UpdateUserRequest(null, null, null, List.of(mobile, HOME), null));
+
+        assertThat(response.phones()).extracting(PhoneResponse::number).containsExactlyInAnyOrder("1111111", "4444444");
+        assertThat(phoneStatistics().getInsertCount()).isEqualTo(1);
+        assertThat(phoneStatistics().getDeleteCount()).isZero();
+        assertThat(phoneStatistics().getUpdateCount()).isZero();
+    }
+
+    @Test
+    void patch_unchangedPasswordAndPhones_writesNothing() {
+        String eTag = userService.getUserETag(user.getId());
+        statistics.clear();
+
+        UserResponse response = patch(new UpdateUserRequest(null, null, PASSWORD, List.of(WORK, HOME), null));
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(response.eTag()).isEqualTo(eTag);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(user.getPassword());
+    }
+
+    @Test
+    void patch_nameOnly_keepsActiveFlagPhonesAndPassword() {
+        UserResponse response = patch(new UpdateUserRequest("Renamed", null, null, null, null));
+
+        assertThat(response.name()).isEqualTo("Renamed");
+        assertThat(response.isActive()).isTrue();
+        assertThat(response.phones()).hasSize(2);
+        assertThat(response.lastLogin()).isNull();
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getUpdateCount()).isEqualTo(1);
+        assertThat(phoneStatistics().getUpdateCount()).isZero();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(user.getPassword());
+    }
+
+    @Test
+    void patch_newPassword_isHashed() {
+        patch(new UpdateUserRequest(null, null, "another456", null, null));
+
+        String storedHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertThat(storedHash).isNotEqualTo(user.getPassword());
+        assertThat(passwordEncoder.matches("another456", storedHash)).isTrue();
+    }
+
+    private UserResponse patch(UpdateUserRequest request) {
+        return userService.patch(request, user.getId(), null).join();
+    }
+
+    private EntityStatistics phoneStatistics() {
+        return statistics.getEntityStatistics(Phone.class.getName());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.user.service;
+
+import com.example.demo.auth.dto.request.CreateUserRequest;
+import com.example.demo.auth.dto.response.RegisterUserResponse;
+import com.example.demo.user.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Fires parallel registrations with the same email against the real database and checks that the
+ * unique constraint lets exactly one through and every other one is reported as a 400.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserServiceRegistrationConcurrencyTest {
+
+    private static final int REGISTRATIONS = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void create_parallelDuplicates_exactlyOneSucceeds() {
+        String email = "race-" + System.nanoTime() + "@example.com";
+        CreateUserRequest request = new CreateUserRequest("Race", email, "secret", List.of());
+
+        List<CompletableFuture<RegisterUserResponse>> registrations = IntStream.range(0, REGISTRATIONS)
+                .mapToObj(i -> userService.create(request))
+                .toList();
+
+        int succeeded = 0;
+        for (CompletableFuture<RegisterUserResponse> registration : registrations) {
+            try {
+                assertThat(registration.join().email()).isEqualTo(email);
+                succeeded++;
+            } catch (CompletionException e) {
+                assertThat(e.getCause())
+                        .isInstanceOfSatisfying(ResponseStatusException.class, rejected -> {
+                            assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                            assertThat(rejected.getReason()).isEqualTo("Email already registered");
+                        });
+            }
+        }
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(userRepository.findByEmail(email)).isPresent();
+    }
+}
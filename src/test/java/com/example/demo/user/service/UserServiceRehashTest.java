@@ -0,0 +1,97 @@
+package com.example.demo.user.service;
+
+import com.example.demo.auth.dto.request.LoginRequest;
+import com.example.demo.user.entity.User;
+import com.example.demo.user.repository.RegisteredEmailFilter;
+import com.example.demo.user.repository.UserRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that a login re-hashes passwords stored with an outdated cost or format, and that the
+ * compare-and-set write never overwrites a hash changed in the meantime.
+ */
+@SpringBootTest
+@ActiveProfiles("dev")
+class UserServiceRehashTest {
+
+    private static final String PASSWORD = "secret123";
+    private static final Duration REHASH_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void login_hashWithLowerCost_isRehashedWithConfiguredCost() throws InterruptedException {
+        User user = save("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        userService.login(new LoginRequest(user.getEmail(), PASSWORD)).join();
+
+        String upgraded = awaitPasswordChange(user);
+        assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+        assertThat(passwordEncoder.matches(PASSWORD, upgraded)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(upgraded)).isFalse();
+    }
+
+    @Test
+    void login_legacyHashWithoutPrefix_isRehashedWithPrefix() throws InterruptedException {
+        User user = save(new BCryptPasswordEncoder(10).encode(PASSWORD));
+
+        userService.login(new LoginRequest(user.getEmail(), PASSWORD)).join();
+
+        String upgraded = awaitPasswordChange(user);
+        assertThat(upgraded).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches(PASSWORD, upgraded)).isTrue();
+    }
+
+    @Test
+    void updatePassword_hashChangedConcurrently_isNotOverwritten() {
+        User user = save(passwordEncoder.encode(PASSWORD));
+
+        int updated = userRepository.updatePassword(user.getId(), "{bcrypt}stale", passwordEncoder.encode("other"));
+
+        assertThat(updated).isZero();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(user.getPassword());
+    }
+
+    private User save(String hash) {
+        User user = userRepository.saveAndFlush(User.builder()
+                .name("Rehash")
+                .email("rehash-" + UUID.randomUUID() + "@example.com")
+                .password(hash)
+                .build());
+        registeredEmailFilter.add(user.getEmail());
+        return user;
+    }
+
+    private String awaitPasswordChange(User user) throws InterruptedException {
+        long deadline = System.nanoTime() + REHASH_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+            if (!stored.equals(user.getPassword())) {
+                return stored;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Password of " + user.getEmail() + " was not re-hashed within " + REHASH_TIMEOUT);
+    }
+}